@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.Arrays;
+
+/**
+ * Describes the named arguments of a single translation key. Translations of the key may
+ * refer to their arguments by name, e.g. {player} or {amount,number}, instead of their
+ * position. Names are compiled into argument slots once when a translation is loaded,
+ * so arguments are supplied in the order of the layout's names and rendering costs no
+ * more than rendering positional arguments.
+ * <p>
+ * Layouts are obtained via {@link Localizer#layout(String, String...)} and should be
+ * created once and kept around for as long as the key is being translated.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public final class ArgumentLayout {
+
+	private final String   key;
+	private final int      keyHash;
+	private final String[] names;
+
+	/**
+	 * Constructs a new argument layout.
+	 *
+	 * @param key   The translation key the layout belongs to
+	 * @param names The names of the key's arguments in order of their slots
+	 */
+	public ArgumentLayout( String key, String... names ) {
+		for ( int i = 0; i < names.length; ++i ) {
+			for ( int j = 0; j < i; ++j ) {
+				if ( names[i].equals( names[j] ) ) {
+					throw new IllegalArgumentException( "Duplicate argument name '" + names[i] + "' in layout of '" + key + "'" );
+				}
+			}
+		}
+
+		this.key = key;
+		this.keyHash = FNVHash.hash1a32( key );
+		this.names = names.clone();
+	}
+
+	/**
+	 * Gets the translation key the layout belongs to.
+	 *
+	 * @return The translation key the layout belongs to
+	 */
+	public String getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Gets the hash value of the translation key the layout belongs to.
+	 *
+	 * @return The hash value of the translation key the layout belongs to
+	 */
+	public int getKeyHash() {
+		return this.keyHash;
+	}
+
+	/**
+	 * Gets the number of arguments described by this layout.
+	 *
+	 * @return The number of arguments described by this layout
+	 */
+	public int size() {
+		return this.names.length;
+	}
+
+	/**
+	 * Gets the slot of the argument with the given name.
+	 *
+	 * @param name The name of the argument
+	 *
+	 * @return The slot of the argument or -1 if the layout does not contain such an argument
+	 */
+	public int indexOf( String name ) {
+		for ( int i = 0; i < this.names.length; ++i ) {
+			if ( this.names[i].equals( name ) ) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the names of the arguments in order of their slots.
+	 *
+	 * @return The names of the arguments
+	 */
+	String[] getNames() {
+		return this.names;
+	}
+
+	@Override
+	public String toString() {
+		return this.key + Arrays.toString( this.names );
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+/**
+ * Template segment which inserts one of the arguments given at render time. If the
+ * argument was not supplied the original placeholder is written instead so that
+ * missing arguments remain visible in the output.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+class ArgumentSegment extends TemplateSegment {
+
+	private final int    index;
+	private final String placeholder;
+
+	ArgumentSegment( int index, String placeholder ) {
+		this.index = index;
+		this.placeholder = placeholder;
+	}
+
+	/**
+	 * Gets the index of the argument inserted by this segment.
+	 *
+	 * @return The index of the argument inserted by this segment
+	 */
+	int getIndex() {
+		return this.index;
+	}
+
+	@Override
+	void render( StringBuilder out, Object[] args ) {
+		if ( this.index < args.length ) {
+			out.append( argument( args, this.index ) );
+		} else {
+			out.append( this.placeholder );
+		}
+	}
+
+	@Override
+	void render( StringBuilder out, long value ) {
+		if ( this.index == 0 ) {
+			out.append( value );
+		} else {
+			out.append( this.placeholder );
+		}
+	}
+
+	@Override
+	void render( StringBuilder out, double value ) {
+		if ( this.index == 0 ) {
+			out.append( value );
+		} else {
+			out.append( this.placeholder );
+		}
+	}
+
+	@Override
+	void render( StringBuilder out, CharSequence value ) {
+		if ( this.index == 0 ) {
+			out.append( value );
+		} else {
+			out.append( this.placeholder );
+		}
+	}
+
+	@Override
+	int getLengthHint() {
+		return 8;
+	}
+
+}
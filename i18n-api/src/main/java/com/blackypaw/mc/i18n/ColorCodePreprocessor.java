@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+/**
+ * Translation preprocessor converting alternate color codes into Minecraft's formatting codes
+ * just like ChatColor.translateAlternateColorCodes would do, only once at load time:
+ * <ul>
+ * <li>&amp;a, &amp;l, &amp;r, ... - legacy color and formatting codes</li>
+ * <li>&amp;#RRGGBB - hex colors in the §x§R§R§G§G§B§B notation understood by Spigot and BungeeCord</li>
+ * <li>&amp;&amp; - an escaped, literal alternate color character</li>
+ * </ul>
+ * Alternate color characters followed by anything else are kept as-is.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public class ColorCodePreprocessor implements TranslationPreprocessor {
+
+	private static final char   COLOR_CHAR = '\u00A7';
+	private static final String CODES      = "0123456789abcdefklmnor";
+
+	private final char alternateColorChar;
+
+	/**
+	 * Constructs a new color code preprocessor using '&amp;' as its alternate color character.
+	 */
+	public ColorCodePreprocessor() {
+		this( '&' );
+	}
+
+	/**
+	 * Constructs a new color code preprocessor.
+	 *
+	 * @param alternateColorChar The character color codes are prefixed with inside translations
+	 */
+	public ColorCodePreprocessor( char alternateColorChar ) {
+		this.alternateColorChar = alternateColorChar;
+	}
+
+	@Override
+	public String preprocess( String translation ) {
+		if ( translation.indexOf( this.alternateColorChar ) == -1 ) {
+			return translation;
+		}
+
+		int           length  = translation.length();
+		StringBuilder builder = new StringBuilder( length + 16 );
+		for ( int i = 0; i < length; ++i ) {
+			char c = translation.charAt( i );
+			if ( c != this.alternateColorChar || i + 1 >= length ) {
+				builder.append( c );
+				continue;
+			}
+
+			char code = translation.charAt( i + 1 );
+			if ( code == this.alternateColorChar ) {
+				// Escaped alternate color character:
+				builder.append( c );
+				++i;
+			} else if ( CODES.indexOf( Character.toLowerCase( code ) ) != -1 ) {
+				builder.append( COLOR_CHAR ).append( Character.toLowerCase( code ) );
+				++i;
+			} else if ( code == '#' && isHexColor( translation, i + 2 ) ) {
+				builder.append( COLOR_CHAR ).append( 'x' );
+				for ( int j = i + 2; j < i + 8; ++j ) {
+					builder.append( COLOR_CHAR ).append( Character.toLowerCase( translation.charAt( j ) ) );
+				}
+				i += 7;
+			} else {
+				builder.append( c );
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Checks whether the six characters starting at the given offset form a hex color.
+	 *
+	 * @param translation The translation to check
+	 * @param offset      The offset of the first digit
+	 *
+	 * @return Whether or not the characters form a hex color
+	 */
+	private static boolean isHexColor( String translation, int offset ) {
+		if ( offset + 6 > translation.length() ) {
+			return false;
+		}
+		for ( int i = offset; i < offset + 6; ++i ) {
+			if ( Character.digit( translation.charAt( i ), 16 ) == -1 ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
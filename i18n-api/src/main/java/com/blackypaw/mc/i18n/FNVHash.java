@@ -45,4 +45,65 @@ class FNVHash {
 		return hash;
 	}
 
+	/**
+	 * Gets the initial state of a streamed FVN-1a 32-bit hash, i.e. the hash value of no bytes at all.
+	 *
+	 * @return The initial state of a streamed hash
+	 */
+	static int init1a32() {
+		return (int) FNV_32_OFFSET;
+	}
+
+	/**
+	 * Continues a streamed FVN-1a 32-bit hash with the UTF-8 encoding of the given characters.
+	 * Streaming a string in several parts results in the same hash value as {@link #hash1a32(String)}
+	 * would yield for the concatenation of all parts, yet no bytes or strings are allocated.
+	 *
+	 * @param hash The current state of the hash
+	 * @param str The characters to append to the hash
+	 * @return The new state of the hash
+	 */
+	static int update1a32( int hash, CharSequence str ) {
+		int length = str.length();
+		for ( int i = 0; i < length; ++i ) {
+			char c = str.charAt( i );
+			if ( c < 0x80 ) {
+				hash = mix( hash, c );
+			} else if ( c < 0x800 ) {
+				hash = mix( hash, 0xC0 | ( c >> 6 ) );
+				hash = mix( hash, 0x80 | ( c & 0x3F ) );
+			} else if ( Character.isSurrogate( c ) ) {
+				if ( Character.isHighSurrogate( c ) && i + 1 < length && Character.isLowSurrogate( str.charAt( i + 1 ) ) ) {
+					int codePoint = Character.toCodePoint( c, str.charAt( ++i ) );
+					hash = mix( hash, 0xF0 | ( codePoint >> 18 ) );
+					hash = mix( hash, 0x80 | ( ( codePoint >> 12 ) & 0x3F ) );
+					hash = mix( hash, 0x80 | ( ( codePoint >> 6 ) & 0x3F ) );
+					hash = mix( hash, 0x80 | ( codePoint & 0x3F ) );
+				} else {
+					// Malformed surrogates are replaced just like String.getBytes does:
+					hash = mix( hash, '?' );
+				}
+			} else {
+				hash = mix( hash, 0xE0 | ( c >> 12 ) );
+				hash = mix( hash, 0x80 | ( ( c >> 6 ) & 0x3F ) );
+				hash = mix( hash, 0x80 | ( c & 0x3F ) );
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Continues a streamed FVN-1a 32-bit hash with a single byte.
+	 *
+	 * @param hash The current state of the hash
+	 * @param b The byte to append to the hash
+	 * @return The new state of the hash
+	 */
+	private static int mix( int hash, int b ) {
+		// Bytes are sign-extended just like in hash1a32( byte[] ):
+		hash ^= (byte) b;
+		hash *= FNV_32_PRIME;
+		return hash;
+	}
+
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+/**
+ * Template segment which inserts an argument formatted according to the rules of the
+ * template's locale, e.g. {0,number} or {1,date,short}. The formatter to be used is
+ * resolved once at compile time.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+class FormattedArgumentSegment extends TemplateSegment {
+
+	private final int           index;
+	private final String        placeholder;
+	private final FormatterPool formatter;
+
+	FormattedArgumentSegment( int index, String placeholder, FormatterPool formatter ) {
+		this.index = index;
+		this.placeholder = placeholder;
+		this.formatter = formatter;
+	}
+
+	@Override
+	void render( StringBuilder out, Object[] args ) {
+		if ( this.index < args.length ) {
+			this.formatter.format( out, argument( args, this.index ) );
+		} else {
+			out.append( this.placeholder );
+		}
+	}
+
+	@Override
+	void render( StringBuilder out, long value ) {
+		if ( this.index == 0 ) {
+			this.formatter.format( out, value );
+		} else {
+			out.append( this.placeholder );
+		}
+	}
+
+	@Override
+	void render( StringBuilder out, double value ) {
+		if ( this.index == 0 ) {
+			this.formatter.format( out, value );
+		} else {
+			out.append( this.placeholder );
+		}
+	}
+
+	@Override
+	void render( StringBuilder out, CharSequence value ) {
+		if ( this.index == 0 ) {
+			out.append( value );
+		} else {
+			out.append( this.placeholder );
+		}
+	}
+
+	@Override
+	int getLengthHint() {
+		return 8;
+	}
+
+}
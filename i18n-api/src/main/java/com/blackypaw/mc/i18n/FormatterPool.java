@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pool of number and date formatters for a specific locale and style. As the formatters of the
+ * java.text package are neither thread-safe nor cheap to construct every thread gets a formatter
+ * of its own which is created once and reused for all subsequent invocations.
+ * <p>
+ * Pools are interned, i.e. all templates referring to the same locale and style share a single
+ * pool which they resolve once at compile time.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+final class FormatterPool {
+
+	static final int NUMBER = 0;
+	static final int DATE   = 1;
+	static final int TIME   = 2;
+
+	private static final ConcurrentMap<String, FormatterPool> POOLS = new ConcurrentHashMap<>();
+
+	private final int    type;
+	private final Locale locale;
+	private final String style;
+
+	private final ThreadLocal<Slot> slots = new ThreadLocal<Slot>() {
+		@Override
+		protected Slot initialValue() {
+			return new Slot( FormatterPool.this.createFormat() );
+		}
+	};
+
+	private FormatterPool( int type, Locale locale, String style ) {
+		this.type = type;
+		this.locale = locale;
+		this.style = style;
+	}
+
+	/**
+	 * Gets the formatter pool for the given type, locale and style.
+	 *
+	 * @param type   The type of formatter, i.e. one of {@link #NUMBER}, {@link #DATE} or {@link #TIME}
+	 * @param locale The locale to format values for
+	 * @param style  The style of the format as found in a template's placeholder
+	 *
+	 * @return The formatter pool or null if the style is invalid
+	 */
+	static FormatterPool get( int type, Locale locale, String style ) {
+		String        key  = type + ":" + locale.toString() + ":" + style;
+		FormatterPool pool = POOLS.get( key );
+		if ( pool == null ) {
+			pool = new FormatterPool( type, locale, style );
+			try {
+				// Validate the style once before publishing the pool:
+				pool.createFormat();
+			} catch ( IllegalArgumentException e ) {
+				return null;
+			}
+
+			FormatterPool previous = POOLS.putIfAbsent( key, pool );
+			if ( previous != null ) {
+				pool = previous;
+			}
+		}
+		return pool;
+	}
+
+	/**
+	 * Formats the given integral value and appends the result to the given buffer.
+	 *
+	 * @param out   The buffer to append to
+	 * @param value The value to format
+	 */
+	void format( StringBuilder out, long value ) {
+		Slot slot = this.slots.get();
+		slot.buffer.setLength( 0 );
+		if ( slot.format instanceof NumberFormat ) {
+			( (NumberFormat) slot.format ).format( value, slot.buffer, slot.position );
+		} else {
+			// Integral values are interpreted as milliseconds since the epoch:
+			slot.date.setTime( value );
+			( (DateFormat) slot.format ).format( slot.date, slot.buffer, slot.position );
+		}
+		out.append( slot.buffer );
+	}
+
+	/**
+	 * Formats the given floating point value and appends the result to the given buffer.
+	 *
+	 * @param out   The buffer to append to
+	 * @param value The value to format
+	 */
+	void format( StringBuilder out, double value ) {
+		Slot slot = this.slots.get();
+		slot.buffer.setLength( 0 );
+		if ( slot.format instanceof NumberFormat ) {
+			( (NumberFormat) slot.format ).format( value, slot.buffer, slot.position );
+		} else {
+			slot.date.setTime( (long) value );
+			( (DateFormat) slot.format ).format( slot.date, slot.buffer, slot.position );
+		}
+		out.append( slot.buffer );
+	}
+
+	/**
+	 * Formats the given value and appends the result to the given buffer. Values which cannot
+	 * be formatted by this pool's formatter are appended via their toString() method.
+	 *
+	 * @param out   The buffer to append to
+	 * @param value The value to format
+	 */
+	void format( StringBuilder out, Object value ) {
+		if ( value instanceof Instant ) {
+			value = Date.from( (Instant) value );
+		}
+
+		Slot slot = this.slots.get();
+		// Number formats accept numbers only, date formats also accept numbers as milliseconds since the epoch:
+		boolean formattable = ( slot.format instanceof NumberFormat ? value instanceof Number : value instanceof Number || value instanceof Date );
+		if ( !formattable ) {
+			out.append( value );
+			return;
+		}
+
+		slot.buffer.setLength( 0 );
+		slot.format.format( value, slot.buffer, slot.position );
+		out.append( slot.buffer );
+	}
+
+	/**
+	 * Creates a new formatter as described by this pool's type, locale and style.
+	 *
+	 * @return The created formatter
+	 *
+	 * @throws IllegalArgumentException Thrown if the pool's style is invalid
+	 */
+	private Format createFormat() {
+		switch ( this.type ) {
+			case NUMBER:
+				return this.createNumberFormat();
+			case DATE:
+				return this.createDateFormat( false );
+			case TIME:
+				return this.createDateFormat( true );
+			default:
+				throw new IllegalArgumentException( "Unknown formatter type " + this.type );
+		}
+	}
+
+	private Format createNumberFormat() {
+		switch ( this.style ) {
+			case "":
+				return NumberFormat.getInstance( this.locale );
+			case "integer":
+				return NumberFormat.getIntegerInstance( this.locale );
+			case "percent":
+				return NumberFormat.getPercentInstance( this.locale );
+			case "currency":
+				return NumberFormat.getCurrencyInstance( this.locale );
+			default:
+				if ( this.style.startsWith( "currency:" ) ) {
+					NumberFormat format = NumberFormat.getCurrencyInstance( this.locale );
+					format.setCurrency( Currency.getInstance( this.style.substring( 9 ) ) );
+					return format;
+				}
+				return new DecimalFormat( this.style, DecimalFormatSymbols.getInstance( this.locale ) );
+		}
+	}
+
+	private Format createDateFormat( boolean time ) {
+		int dateStyle;
+		switch ( this.style ) {
+			case "":
+			case "medium":
+				dateStyle = DateFormat.MEDIUM;
+				break;
+			case "short":
+				dateStyle = DateFormat.SHORT;
+				break;
+			case "long":
+				dateStyle = DateFormat.LONG;
+				break;
+			case "full":
+				dateStyle = DateFormat.FULL;
+				break;
+			default:
+				return new SimpleDateFormat( this.style, this.locale );
+		}
+
+		return ( time ? DateFormat.getTimeInstance( dateStyle, this.locale ) : DateFormat.getDateInstance( dateStyle, this.locale ) );
+	}
+
+	/**
+	 * Per-thread state of a formatter pool.
+	 */
+	private static final class Slot {
+
+		private final Format        format;
+		private final StringBuffer  buffer;
+		private final FieldPosition position;
+		private final Date          date;
+
+		private Slot( Format format ) {
+			this.format = format;
+			this.buffer = new StringBuffer( 32 );
+			this.position = new FieldPosition( 0 );
+			this.date = new Date( 0L );
+		}
+
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.Arrays;
+
+/**
+ * Helper class which measures the width of messages in pixels as they will be rendered by the
+ * client's default font. Widths include the single pixel of spacing following each glyph and
+ * are looked up in a table holding one byte per character of the basic multilingual plane.
+ * <p>
+ * Characters not contained in the default font's ASCII page are rendered using the unicode
+ * font whose glyphs vary in width; they are approximated as a whole, i.e. CJK ideographs, kana,
+ * hangul and full-width forms are taken to be 9 pixels wide and all other characters, including
+ * cyrillic, 6 pixels wide. Formatting codes take up no space, though bold text is one pixel
+ * wider per character.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public final class GlyphWidths {
+
+	/**
+	 * The width of the client's chat window in pixels at its default settings.
+	 */
+	public static final int CHAT_WIDTH = 320;
+
+	/**
+	 * The width of a regular space in pixels.
+	 */
+	public static final int SPACE_WIDTH = 4;
+
+	private static final char COLOR_CHAR = '\u00A7';
+
+	private static final byte DEFAULT_WIDTH = 6;
+	private static final byte WIDE_WIDTH    = 9;
+
+	private static final byte[] WIDTHS = new byte[0x10000];
+
+	static {
+		Arrays.fill( WIDTHS, DEFAULT_WIDTH );
+
+		// Control characters, combining marks and zero-width characters:
+		fill( 0x0000, 0x001F, 0 );
+		fill( 0x007F, 0x009F, 0 );
+		fill( 0x0300, 0x036F, 0 );
+		fill( 0x200B, 0x200F, 0 );
+		fill( 0xFE00, 0xFE0F, 0 );
+
+		// Glyphs of the ASCII page narrower or wider than the default:
+		set( " ", 4 );
+		set( "!',.:;i|", 2 );
+		set( "`l", 3 );
+		set( "\"I[]t", 4 );
+		set( "()*<>fk{}", 5 );
+		set( "@~", 7 );
+
+		// Wide glyphs of the unicode font:
+		fill( 0x1100, 0x115F, WIDE_WIDTH );
+		fill( 0x2E80, 0x303E, WIDE_WIDTH );
+		fill( 0x3041, 0x33FF, WIDE_WIDTH );
+		fill( 0x3400, 0x4DBF, WIDE_WIDTH );
+		fill( 0x4E00, 0x9FFF, WIDE_WIDTH );
+		fill( 0xA000, 0xA4CF, WIDE_WIDTH );
+		fill( 0xAC00, 0xD7A3, WIDE_WIDTH );
+		fill( 0xF900, 0xFAFF, WIDE_WIDTH );
+		fill( 0xFE30, 0xFE4F, WIDE_WIDTH );
+		fill( 0xFF00, 0xFF60, WIDE_WIDTH );
+		fill( 0xFFE0, 0xFFE6, WIDE_WIDTH );
+	}
+
+	private GlyphWidths() {
+		throw new AssertionError( "GlyphWidths may not be instantiated" );
+	}
+
+	/**
+	 * Gets the width of the given character in pixels.
+	 *
+	 * @param codePoint The code point of the character
+	 * @param bold      Whether or not the character is rendered in bold
+	 *
+	 * @return The width of the character in pixels
+	 */
+	public static int width( int codePoint, boolean bold ) {
+		int width = ( codePoint < WIDTHS.length ? WIDTHS[codePoint] : WIDE_WIDTH );
+		return ( bold && width > 0 ? width + 1 : width );
+	}
+
+	/**
+	 * Measures the width of the given message in pixels. Formatting codes are skipped and
+	 * characters following a bold code are measured in bold until the next color or reset code.
+	 *
+	 * @param message The message to measure
+	 *
+	 * @return The width of the message in pixels
+	 */
+	public static int measure( CharSequence message ) {
+		int     width  = 0;
+		boolean bold   = false;
+		int     length = message.length();
+		for ( int i = 0; i < length; ++i ) {
+			char c = message.charAt( i );
+			if ( c == COLOR_CHAR && i + 1 < length ) {
+				char code = Character.toLowerCase( message.charAt( ++i ) );
+				if ( code == 'l' ) {
+					bold = true;
+				} else if ( code == 'r' || code == 'x' || ( code >= '0' && code <= '9' ) || ( code >= 'a' && code <= 'f' ) ) {
+					bold = false;
+				}
+				continue;
+			}
+
+			if ( Character.isHighSurrogate( c ) && i + 1 < length && Character.isLowSurrogate( message.charAt( i + 1 ) ) ) {
+				width += width( Character.toCodePoint( c, message.charAt( ++i ) ), bold );
+			} else {
+				width += width( c, bold );
+			}
+		}
+		return width;
+	}
+
+	/**
+	 * Centers the given message within the given width by prepending spaces. Messages which
+	 * are at least as wide as the given width are returned as-is.
+	 *
+	 * @param message      The message to center
+	 * @param messageWidth The width of the message in pixels as returned by {@link #measure(CharSequence)}
+	 * @param width        The width in pixels to center the message within
+	 *
+	 * @return The centered message
+	 */
+	public static String center( String message, int messageWidth, int width ) {
+		int spaces = ( ( width - messageWidth ) / 2 + SPACE_WIDTH / 2 ) / SPACE_WIDTH;
+		if ( spaces <= 0 ) {
+			return message;
+		}
+
+		StringBuilder out = new StringBuilder( spaces + message.length() );
+		appendSpaces( out, spaces );
+		out.append( message );
+		return out.toString();
+	}
+
+	/**
+	 * Pads the given message with trailing spaces so that it takes up as much of the given width
+	 * as possible without exceeding it, e.g. in order to align columns. Messages containing
+	 * formatting codes are reset before the padding so that no underline, strikethrough or bold
+	 * formatting affects the spaces. Messages which are at least as wide as the given width are
+	 * returned as-is.
+	 *
+	 * @param message      The message to pad
+	 * @param messageWidth The width of the message in pixels as returned by {@link #measure(CharSequence)}
+	 * @param width        The width in pixels to pad the message to
+	 *
+	 * @return The padded message
+	 */
+	public static String pad( String message, int messageWidth, int width ) {
+		int spaces = ( width - messageWidth ) / SPACE_WIDTH;
+		if ( spaces <= 0 ) {
+			return message;
+		}
+
+		StringBuilder out = new StringBuilder( message.length() + 2 + spaces );
+		out.append( message );
+		if ( message.indexOf( COLOR_CHAR ) >= 0 ) {
+			out.append( COLOR_CHAR ).append( 'r' );
+		}
+		appendSpaces( out, spaces );
+		return out.toString();
+	}
+
+	private static void appendSpaces( StringBuilder out, int count ) {
+		for ( int i = 0; i < count; ++i ) {
+			out.append( ' ' );
+		}
+	}
+
+	private static void fill( int from, int to, int width ) {
+		Arrays.fill( WIDTHS, from, to + 1, (byte) width );
+	}
+
+	private static void set( String characters, int width ) {
+		for ( int i = 0; i < characters.length(); ++i ) {
+			WIDTHS[characters.charAt( i )] = (byte) width;
+		}
+	}
+
+}
@@ -7,7 +7,12 @@
 
 package com.blackypaw.mc.i18n;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Generic interface for I18N implementations.
@@ -117,4 +122,38 @@ public interface I18N<KeyType> {
 	 */
 	Locale getFallbackLocale();
 	
+	/**
+	 * Groups the given keys by the locale stored under each of them. Keys whose locale is
+	 * unknown will be grouped under the fallback locale.
+	 * <p>
+	 * Together with {@link Localizer#translateForLocales(Collection, String, Object...)} this
+	 * allows to broadcast a message to many recipients rendering it only once per distinct
+	 * locale, e.g. for the Spigot platform:
+	 * <pre>
+	 * Map&lt;Locale, List&lt;UUID&gt;&gt; groups = i18n.groupByLocale( uuids );
+	 * Map&lt;Locale, String&gt; messages = localizer.translateForLocales( groups.keySet(), "arena.starting", arena );
+	 * </pre>
+	 *
+	 * @param keys The keys to group
+	 *
+	 * @return The keys grouped by their respective locale
+	 */
+	default Map<Locale, List<KeyType>> groupByLocale( Collection<? extends KeyType> keys ) {
+		Map<Locale, List<KeyType>> groups = new HashMap<>();
+		for ( KeyType key : keys ) {
+			Locale locale = this.getLocale( key );
+			if ( locale == null ) {
+				locale = this.getFallbackLocale();
+			}
+			
+			List<KeyType> group = groups.get( locale );
+			if ( group == null ) {
+				group = new ArrayList<>();
+				groups.put( locale, group );
+			}
+			group.add( key );
+		}
+		return groups;
+	}
+	
 }
@@ -7,6 +7,9 @@
 
 package com.blackypaw.mc.i18n;
 
+import java.io.IOException;
+import java.util.Locale;
+
 /**
  * A localizer may be used to get encoded strings which will be translated into actual
  * chat messages on a per-player basis. All encoded strings returned by a localizer are
@@ -63,6 +66,32 @@ public abstract class InjectionAwareLocalizer extends Localizer {
 	 */
 	public abstract InjectionHandle inject( String key, Object... args );
 	
+	/**
+	 * Translates the message represented by the given injection handle directly into the given
+	 * buffer including all of the handle's additional arguments. This is what happens for every
+	 * player an encoded injection string is sent to.
+	 *
+	 * @param out The buffer to append the translated message to
+	 * @param locale The language to translate into
+	 * @param handle The injection handle to translate
+	 */
+	public void translateTo( StringBuilder out, Locale locale, InjectionHandle handle ) {
+		this.getStorage().translateTo( out, locale, FNVHash.hash1a32( handle.getKey() ), handle.getArgs() );
+	}
+	
+	/**
+	 * See {@link #translateTo(StringBuilder, Locale, InjectionHandle)}.
+	 *
+	 * @param out The appendable to append the translated message to
+	 * @param locale The language to translate into
+	 * @param handle The injection handle to translate
+	 *
+	 * @throws IOException Thrown if the appendable fails to accept the translated message
+	 */
+	public void translateTo( Appendable out, Locale locale, InjectionHandle handle ) throws IOException {
+		this.getStorage().translateTo( out, locale, FNVHash.hash1a32( handle.getKey() ), handle.getArgs() );
+	}
+	
 	/**
 	 * Resolves an injection handle given its ID.
 	 *
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Handle of a single translation key obtained via {@link Localizer#key(String)}. The handle
+ * carries the precomputed hash of its key and remembers the compiled template of every
+ * locale it has been translated into, so translating through a handle requires neither
+ * hashing the key nor looking it up inside the translation storage. Remembered templates
+ * are looked up again once the storage's translations change.
+ * <p>
+ * Handles are thread-safe and meant to be created once and kept around, e.g. in static
+ * fields. If a render cache is put in front of the storage, translations with arguments
+ * are delegated to the storage so that the cache is consulted.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public final class KeyHandle {
+
+	/**
+	 * The maximum number of locales a handle remembers templates for.
+	 */
+	private static final int MAX_CACHED_LOCALES = 16;
+
+	private static final CachedTemplate[] NO_TEMPLATES = new CachedTemplate[0];
+
+	private final TranslationStorage storage;
+	private final String             key;
+	private final int                keyHash;
+
+	private volatile CachedTemplate[] templates;
+
+	KeyHandle( TranslationStorage storage, String key ) {
+		this.storage = storage;
+		this.key = key;
+		this.keyHash = FNVHash.hash1a32( key );
+		this.templates = NO_TEMPLATES;
+	}
+
+	/**
+	 * Gets the translation key this handle refers to.
+	 *
+	 * @return The translation key this handle refers to
+	 */
+	public String getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Gets the hash value of the translation key this handle refers to.
+	 *
+	 * @return The hash value of the translation key this handle refers to
+	 */
+	public int getKeyHash() {
+		return this.keyHash;
+	}
+
+	/**
+	 * Gets the compiled template of this handle's key for the specified locale.
+	 *
+	 * @param locale The locale to get the template for
+	 *
+	 * @return The compiled template of this handle's key
+	 */
+	public MessageTemplate getTemplate( Locale locale ) {
+		// Read the generation before looking up the template so that a concurrent
+		// reload will always cause the template to be looked up once more:
+		int              generation = this.storage.getGeneration();
+		CachedTemplate[] templates  = this.templates;
+
+		int slot = -1;
+		for ( int i = 0; i < templates.length; ++i ) {
+			CachedTemplate cached = templates[i];
+			if ( cached.locale == locale || cached.locale.equals( locale ) ) {
+				if ( cached.generation == generation ) {
+					return cached.template;
+				}
+				slot = i;
+				break;
+			}
+		}
+
+		MessageTemplate template = this.storage.getTemplate( locale, this.keyHash );
+		CachedTemplate  cached   = new CachedTemplate( locale, template, generation );
+		if ( slot != -1 ) {
+			templates = templates.clone();
+			templates[slot] = cached;
+			this.templates = templates;
+		} else if ( templates.length < MAX_CACHED_LOCALES ) {
+			templates = Arrays.copyOf( templates, templates.length + 1 );
+			templates[templates.length - 1] = cached;
+			this.templates = templates;
+		}
+		return template;
+	}
+
+	/**
+	 * Translates this handle's key. See {@link TranslationStorage#translate(Locale, String, Object...)}.
+	 *
+	 * @param locale The language to translate into
+	 * @param args   Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translate( Locale locale, Object... args ) {
+		if ( args.length > 0 && this.storage.getRenderCache() != null ) {
+			return this.storage.translate( locale, this.keyHash, args );
+		}
+		return this.getTemplate( locale ).render( args );
+	}
+
+	/**
+	 * Translates this handle's key using a single integral argument. See {@link MessageTemplate#render(long)}.
+	 *
+	 * @param locale The language to translate into
+	 * @param arg    The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translate( Locale locale, long arg ) {
+		return this.getTemplate( locale ).render( arg );
+	}
+
+	/**
+	 * Translates this handle's key using a single floating point argument. See {@link MessageTemplate#render(double)}.
+	 *
+	 * @param locale The language to translate into
+	 * @param arg    The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translate( Locale locale, double arg ) {
+		return this.getTemplate( locale ).render( arg );
+	}
+
+	/**
+	 * Translates this handle's key using a single character sequence argument. See {@link MessageTemplate#render(CharSequence)}.
+	 *
+	 * @param locale The language to translate into
+	 * @param arg    The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translate( Locale locale, CharSequence arg ) {
+		return this.getTemplate( locale ).render( arg );
+	}
+
+	@Override
+	public String toString() {
+		return this.key;
+	}
+
+	/**
+	 * A template remembered for a locale along with the storage generation it was looked up in.
+	 */
+	private static final class CachedTemplate {
+
+		private final Locale          locale;
+		private final MessageTemplate template;
+		private final int             generation;
+
+		private CachedTemplate( Locale locale, MessageTemplate template, int generation ) {
+			this.locale = locale;
+			this.template = template;
+			this.generation = generation;
+		}
+
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+/**
+ * Registry assigning dense ids to the translation keys of a storage. Every distinct key gets the
+ * next free id when it is first loaded into the storage, in any language, so that languages may
+ * hold their templates in flat arrays indexed by id instead of maps of their own. See
+ * {@link LanguageTable}.
+ * <p>
+ * The key hashes are stored as primitive ints in an open-addressing table using linear probing
+ * which is kept at most half full. Registries are immutable: registering new keys yields a new
+ * registry which may be published to concurrent readers safely.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+final class KeyRegistry {
+
+	private static final int MINIMUM_CAPACITY = 8;
+
+	static final KeyRegistry EMPTY = new KeyRegistry( new int[MINIMUM_CAPACITY], new int[MINIMUM_CAPACITY], 0 );
+
+	private final int[] keys;
+	/**
+	 * The id of the key in the respective slot plus one; zero marks an empty slot.
+	 */
+	private final int[] ids;
+	private final int   mask;
+	private final int   size;
+
+	private KeyRegistry( int[] keys, int[] ids, int size ) {
+		this.keys = keys;
+		this.ids = ids;
+		this.mask = keys.length - 1;
+		this.size = size;
+	}
+
+	/**
+	 * Gets the number of keys registered, i.e. the id the next key will be assigned.
+	 *
+	 * @return The number of keys registered
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the id of the given key hash.
+	 *
+	 * @param keyHash The hash value of the translation key
+	 *
+	 * @return The id of the key or -1 if it has not been registered
+	 */
+	int idOf( int keyHash ) {
+		int[] keys = this.keys;
+		int[] ids  = this.ids;
+		int   mask = this.mask;
+		for ( int slot = mix( keyHash ) & mask; ; slot = ( slot + 1 ) & mask ) {
+			int id = ids[slot];
+			if ( id == 0 || keys[slot] == keyHash ) {
+				return id - 1;
+			}
+		}
+	}
+
+	/**
+	 * Registers all of the given key hashes not registered yet.
+	 *
+	 * @param keyHashes The hash values of the translation keys to register
+	 *
+	 * @return A registry holding the keys of this registry along with the given ones or this
+	 * registry itself if all keys have been registered already
+	 */
+	KeyRegistry register( Iterable<Integer> keyHashes ) {
+		int[] keys = null;
+		int[] ids  = null;
+		int   size = this.size;
+		for ( int keyHash : keyHashes ) {
+			if ( this.idOf( keyHash ) != -1 ) {
+				continue;
+			}
+
+			if ( keys == null || ( size + 1 ) * 2 > keys.length ) {
+				int capacity = ( keys == null ? this.keys.length : keys.length );
+				while ( ( size + 1 ) * 2 > capacity ) {
+					capacity <<= 1;
+				}
+				int[] newKeys = new int[capacity];
+				int[] newIds  = new int[capacity];
+				if ( keys == null ) {
+					insertAll( newKeys, newIds, this.keys, this.ids );
+				} else {
+					insertAll( newKeys, newIds, keys, ids );
+				}
+				keys = newKeys;
+				ids = newIds;
+			}
+
+			int slot = find( keys, ids, keyHash );
+			if ( ids[slot] == 0 ) {
+				keys[slot] = keyHash;
+				ids[slot] = ++size;
+			}
+		}
+
+		return ( keys != null ? new KeyRegistry( keys, ids, size ) : this );
+	}
+
+	private static void insertAll( int[] keys, int[] ids, int[] oldKeys, int[] oldIds ) {
+		for ( int i = 0; i < oldKeys.length; ++i ) {
+			if ( oldIds[i] != 0 ) {
+				int slot = find( keys, ids, oldKeys[i] );
+				keys[slot] = oldKeys[i];
+				ids[slot] = oldIds[i];
+			}
+		}
+	}
+
+	private static int find( int[] keys, int[] ids, int keyHash ) {
+		int mask = keys.length - 1;
+		int slot = mix( keyHash ) & mask;
+		while ( ids[slot] != 0 && keys[slot] != keyHash ) {
+			slot = ( slot + 1 ) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Spreads the bits of a key hash so that keys sharing their lower bits do not cluster.
+	 *
+	 * @param keyHash The hash value to spread
+	 *
+	 * @return The spread hash value
+	 */
+	private static int mix( int keyHash ) {
+		int hash = keyHash * 0x9E3779B9;
+		return hash ^ ( hash >>> 16 );
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.Locale;
+
+/**
+ * Scope of translation keys sharing a common prefix obtained via {@link Localizer#scope(String)}.
+ * Keys are given relative to the scope's prefix, i.e. translating "item.name" inside the scope
+ * "minigame.shop" translates the key "minigame.shop.item.name". The scope keeps the intermediate
+ * hash state of its prefix and hashes only the relative part of a key, without concatenating
+ * any strings.
+ * <p>
+ * Scopes are immutable and thread-safe.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public final class KeyScope {
+
+	private final TranslationStorage storage;
+	private final String             prefix;
+	private final int                prefixHash;
+
+	KeyScope( TranslationStorage storage, String prefix ) {
+		this.storage = storage;
+		this.prefix = ( prefix.isEmpty() || prefix.endsWith( "." ) ? prefix : prefix + "." );
+		this.prefixHash = FNVHash.update1a32( FNVHash.init1a32(), this.prefix );
+	}
+
+	/**
+	 * Gets the prefix of all keys inside this scope including its trailing separator.
+	 *
+	 * @return The prefix of all keys inside this scope
+	 */
+	public String getPrefix() {
+		return this.prefix;
+	}
+
+	/**
+	 * Computes the hash value of the key with the given relative part.
+	 *
+	 * @param suffix The key relative to this scope
+	 *
+	 * @return The hash value of the full translation key
+	 */
+	public int hash( CharSequence suffix ) {
+		return FNVHash.update1a32( this.prefixHash, suffix );
+	}
+
+	/**
+	 * Creates a nested scope.
+	 *
+	 * @param prefix The prefix of the nested scope relative to this scope
+	 *
+	 * @return The nested scope
+	 */
+	public KeyScope scope( String prefix ) {
+		return new KeyScope( this.storage, this.prefix + prefix );
+	}
+
+	/**
+	 * Creates a handle of a key inside this scope. See {@link Localizer#key(String)}.
+	 *
+	 * @param suffix The key relative to this scope
+	 *
+	 * @return The handle of the full translation key
+	 */
+	public KeyHandle key( String suffix ) {
+		return new KeyHandle( this.storage, this.prefix + suffix );
+	}
+
+	/**
+	 * Translates a key inside this scope. See {@link TranslationStorage#translate(Locale, String, Object...)}.
+	 *
+	 * @param locale The language to translate into
+	 * @param suffix The key relative to this scope
+	 * @param args   Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translate( Locale locale, CharSequence suffix, Object... args ) {
+		return this.storage.translate( locale, this.hash( suffix ), args );
+	}
+
+	/**
+	 * Translates a key inside this scope using a single integral argument. See
+	 * {@link TranslationStorage#translate(Locale, int, long)}.
+	 *
+	 * @param locale The language to translate into
+	 * @param suffix The key relative to this scope
+	 * @param arg    The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translate( Locale locale, CharSequence suffix, long arg ) {
+		return this.storage.translate( locale, this.hash( suffix ), arg );
+	}
+
+	/**
+	 * Translates a key inside this scope using a single floating point argument. See
+	 * {@link TranslationStorage#translate(Locale, int, double)}.
+	 *
+	 * @param locale The language to translate into
+	 * @param suffix The key relative to this scope
+	 * @param arg    The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translate( Locale locale, CharSequence suffix, double arg ) {
+		return this.storage.translate( locale, this.hash( suffix ), arg );
+	}
+
+	@Override
+	public String toString() {
+		return this.prefix;
+	}
+
+}
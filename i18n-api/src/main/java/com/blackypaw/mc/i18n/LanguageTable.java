@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.List;
+
+/**
+ * The compiled templates of a single language held in a flat array indexed by the ids their
+ * keys were assigned by the storage's {@link KeyRegistry}. Looking up a template thus takes a
+ * single array load once the id of its key is known. Which keys the language holds translations
+ * of is additionally tracked in a bitset so that checking for a translation does not need to
+ * touch the templates at all.
+ * <p>
+ * Ids registered after the language was loaded lie beyond the end of its arrays and are treated
+ * as missing. Languages inheriting translations along a fallback chain are merged into a table
+ * of their own, see {@link #merge(List)}, so that a lookup takes a single probe no matter how
+ * deep the chain is. Tables are filled completely before being published to other threads
+ * and never modified afterwards; changes are applied to copies, see {@link #with(int, MessageTemplate)}.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+final class LanguageTable {
+
+	private final MessageTemplate[] templates;
+	private final long[]            present;
+
+	/**
+	 * Constructs a new language table.
+	 *
+	 * @param capacity The number of key ids registered, i.e. the highest id plus one
+	 */
+	LanguageTable( int capacity ) {
+		this.templates = new MessageTemplate[capacity];
+		this.present = new long[( capacity + 63 ) >>> 6];
+	}
+
+	/**
+	 * Merges the given tables into a single one. Translations of tables given earlier take
+	 * precedence over the ones of tables given later, i.e. the tables are expected in the order
+	 * of a fallback chain starting with the language itself. A single table is returned as-is.
+	 *
+	 * @param layers The tables to merge; must not be empty
+	 *
+	 * @return The merged table
+	 */
+	static LanguageTable merge( List<LanguageTable> layers ) {
+		if ( layers.size() == 1 ) {
+			return layers.get( 0 );
+		}
+
+		int capacity = 0;
+		for ( LanguageTable layer : layers ) {
+			capacity = Math.max( capacity, layer.templates.length );
+		}
+
+		// Overlay the tables starting with the one of lowest precedence:
+		LanguageTable merged = new LanguageTable( capacity );
+		for ( int i = layers.size() - 1; i >= 0; --i ) {
+			LanguageTable layer = layers.get( i );
+			for ( int word = 0; word < layer.present.length; ++word ) {
+				long bits = layer.present[word];
+				merged.present[word] |= bits;
+				while ( bits != 0L ) {
+					int id = ( word << 6 ) + Long.numberOfTrailingZeros( bits );
+					merged.templates[id] = layer.templates[id];
+					bits &= bits - 1L;
+				}
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * Checks whether or not the language holds a translation of the key with the given id.
+	 *
+	 * @param id The id of the translation key
+	 *
+	 * @return Whether or not the language holds a translation of the key
+	 */
+	boolean contains( int id ) {
+		int word = id >>> 6;
+		return id >= 0 && word < this.present.length && ( this.present[word] & ( 1L << id ) ) != 0L;
+	}
+
+	/**
+	 * Gets the template of the key with the given id.
+	 *
+	 * @param id The id of the translation key
+	 *
+	 * @return The template or null if the language holds no translation of the key
+	 */
+	MessageTemplate get( int id ) {
+		return ( id >= 0 && id < this.templates.length ? this.templates[id] : null );
+	}
+
+	/**
+	 * Creates a copy of this table holding the given template for the key with the given id.
+	 *
+	 * @param id       The id of the translation key
+	 * @param template The template to store
+	 *
+	 * @return The copy of this table
+	 */
+	LanguageTable with( int id, MessageTemplate template ) {
+		LanguageTable copy = new LanguageTable( this.templates.length );
+		System.arraycopy( this.templates, 0, copy.templates, 0, this.templates.length );
+		System.arraycopy( this.present, 0, copy.present, 0, this.present.length );
+		copy.set( id, template );
+		return copy;
+	}
+
+	/**
+	 * Stores the template of the key with the given id. May only be invoked while the table is
+	 * being filled, i.e. before it gets published.
+	 *
+	 * @param id       The id of the translation key
+	 * @param template The template to store
+	 */
+	void set( int id, MessageTemplate template ) {
+		this.templates[id] = template;
+		this.present[id >>> 6] |= 1L << id;
+	}
+
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Formats lists of items such as "A, B and C" according to the conventions of a locale. The
+ * patterns joining the items are taken from the translation storage so that translators may
+ * adjust them for their language:
+ * <ul>
+ * <li>i18n.list.pair - joins the items of a list of two, defaults to "{0} and {1}"</li>
+ * <li>i18n.list.start - joins the first item with the rest of a longer list, defaults to "{0}, {1}"</li>
+ * <li>i18n.list.middle - joins an inner item with the rest of a list, defaults to "{0}, {1}"</li>
+ * <li>i18n.list.end - joins the last two items of a longer list, defaults to "{0} and {1}"</li>
+ * </ul>
+ * Each pattern must contain both {0} and {1} exactly once, in either order, so that languages
+ * may place the rest of the list before an item; patterns not adhering to this are replaced by
+ * their defaults. The patterns are compiled once per locale and compiled again only after the
+ * storage's translations have changed, so that formatting a list is a single pass over its items
+ * appending them to the output buffer.
+ * <p>
+ * List formats are obtained via {@link Localizer#listFormat()}, are thread-safe and meant to be
+ * created once and kept around.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public final class ListFormat {
+
+	private static final String PAIR_KEY   = "i18n.list.pair";
+	private static final String START_KEY  = "i18n.list.start";
+	private static final String MIDDLE_KEY = "i18n.list.middle";
+	private static final String END_KEY    = "i18n.list.end";
+
+	private static final String DEFAULT_PAIR   = "{0} and {1}";
+	private static final String DEFAULT_START  = "{0}, {1}";
+	private static final String DEFAULT_MIDDLE = "{0}, {1}";
+	private static final String DEFAULT_END    = "{0} and {1}";
+
+	private final TranslationStorage                      storage;
+	private final ConcurrentMap<Locale, CompiledPatterns> patterns;
+
+	ListFormat( TranslationStorage storage ) {
+		this.storage = storage;
+		this.patterns = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Formats the given items into a list.
+	 *
+	 * @param locale The locale to format the list for
+	 * @param items  The items of the list; converted into strings via their toString() method
+	 *
+	 * @return The formatted list
+	 */
+	public String format( Locale locale, Object... items ) {
+		return this.format( locale, Arrays.asList( items ) );
+	}
+
+	/**
+	 * See {@link #format(Locale, Object...)}
+	 *
+	 * @param locale The locale to format the list for
+	 * @param items  The items of the list; converted into strings via their toString() method
+	 *
+	 * @return The formatted list
+	 */
+	public String format( Locale locale, List<?> items ) {
+		StringBuilder out = new StringBuilder( items.size() * 16 );
+		this.formatTo( out, locale, items );
+		return out.toString();
+	}
+
+	/**
+	 * Formats the given items into a list and appends it to the given buffer.
+	 *
+	 * @param out    The buffer to append the formatted list to
+	 * @param locale The locale to format the list for
+	 * @param items  The items of the list; converted into strings via their toString() method
+	 */
+	public void formatTo( StringBuilder out, Locale locale, List<?> items ) {
+		int size = items.size();
+		if ( size == 0 ) {
+			return;
+		}
+		if ( size == 1 ) {
+			append( out, items.get( 0 ) );
+			return;
+		}
+
+		CompiledPatterns patterns = this.getPatterns( locale );
+		if ( size == 2 ) {
+			Pattern pair = patterns.pair;
+			out.append( pair.prefix );
+			append( out, items.get( pair.swapped ? 1 : 0 ) );
+			out.append( pair.infix );
+			append( out, items.get( pair.swapped ? 0 : 1 ) );
+			out.append( pair.suffix );
+			return;
+		}
+
+		if ( patterns.start.swapped || patterns.middle.swapped || patterns.end.swapped ) {
+			this.formatNested( out, patterns, items, 0 );
+			return;
+		}
+
+		// The patterns nest as start(A, middle(B, ... end(Y, Z))), thus all prefixes and infixes
+		// are appended along with the items and the suffixes are closed in reverse order:
+		Pattern start  = patterns.start;
+		Pattern middle = patterns.middle;
+		Pattern end    = patterns.end;
+
+		out.append( start.prefix );
+		append( out, items.get( 0 ) );
+		out.append( start.infix );
+		for ( int i = 1; i < size - 2; ++i ) {
+			out.append( middle.prefix );
+			append( out, items.get( i ) );
+			out.append( middle.infix );
+		}
+		out.append( end.prefix );
+		append( out, items.get( size - 2 ) );
+		out.append( end.infix );
+		append( out, items.get( size - 1 ) );
+		out.append( end.suffix );
+		if ( !middle.suffix.isEmpty() ) {
+			for ( int i = 1; i < size - 2; ++i ) {
+				out.append( middle.suffix );
+			}
+		}
+		out.append( start.suffix );
+	}
+
+	/**
+	 * Formats the given items starting at the given index by nesting the patterns recursively.
+	 * Used only if any of the patterns places the rest of the list before its item.
+	 *
+	 * @param out      The buffer to append the formatted list to
+	 * @param patterns The compiled patterns of the locale
+	 * @param items    The items of the list; at least three
+	 * @param index    The index of the item to start at; at most the index of the second to last item
+	 */
+	private void formatNested( StringBuilder out, CompiledPatterns patterns, List<?> items, int index ) {
+		int     last    = items.size() - 1;
+		Pattern pattern = ( index == 0 ? patterns.start : ( index == last - 1 ? patterns.end : patterns.middle ) );
+
+		out.append( pattern.prefix );
+		if ( pattern.swapped ) {
+			this.formatRest( out, patterns, items, index + 1 );
+			out.append( pattern.infix );
+			append( out, items.get( index ) );
+		} else {
+			append( out, items.get( index ) );
+			out.append( pattern.infix );
+			this.formatRest( out, patterns, items, index + 1 );
+		}
+		out.append( pattern.suffix );
+	}
+
+	private void formatRest( StringBuilder out, CompiledPatterns patterns, List<?> items, int index ) {
+		if ( index == items.size() - 1 ) {
+			append( out, items.get( index ) );
+		} else {
+			this.formatNested( out, patterns, items, index );
+		}
+	}
+
+	private CompiledPatterns getPatterns( Locale locale ) {
+		int              generation = this.storage.getGeneration();
+		CompiledPatterns patterns   = this.patterns.get( locale );
+		if ( patterns == null || patterns.generation != generation ) {
+			patterns = new CompiledPatterns( generation,
+			                                 this.compile( locale, PAIR_KEY, DEFAULT_PAIR ),
+			                                 this.compile( locale, START_KEY, DEFAULT_START ),
+			                                 this.compile( locale, MIDDLE_KEY, DEFAULT_MIDDLE ),
+			                                 this.compile( locale, END_KEY, DEFAULT_END ) );
+			this.patterns.put( locale, patterns );
+		}
+		return patterns;
+	}
+
+	private Pattern compile( Locale locale, String key, String defaultPattern ) {
+		Pattern pattern = Pattern.parse( this.storage.getTemplateOrDefault( locale, key, defaultPattern ).getSource() );
+		return ( pattern != null ? pattern : Pattern.parse( defaultPattern ) );
+	}
+
+	private static void append( StringBuilder out, Object item ) {
+		if ( item instanceof CharSequence ) {
+			out.append( (CharSequence) item );
+		} else {
+			out.append( item );
+		}
+	}
+
+	/**
+	 * The patterns of a locale along with the storage generation they were compiled in.
+	 */
+	private static final class CompiledPatterns {
+
+		private final int     generation;
+		private final Pattern pair;
+		private final Pattern start;
+		private final Pattern middle;
+		private final Pattern end;
+
+		private CompiledPatterns( int generation, Pattern pair, Pattern start, Pattern middle, Pattern end ) {
+			this.generation = generation;
+			this.pair = pair;
+			this.start = start;
+			this.middle = middle;
+			this.end = end;
+		}
+
+	}
+
+	/**
+	 * A pattern joining two parts of a list split up at its placeholders. Swapped patterns hold
+	 * {1}, i.e. the rest of the list, before {0}.
+	 */
+	private static final class Pattern {
+
+		private final String  prefix;
+		private final String  infix;
+		private final String  suffix;
+		private final boolean swapped;
+
+		private Pattern( String prefix, String infix, String suffix, boolean swapped ) {
+			this.prefix = prefix;
+			this.infix = infix;
+			this.suffix = suffix;
+			this.swapped = swapped;
+		}
+
+		private static Pattern parse( String pattern ) {
+			int first  = pattern.indexOf( "{0}" );
+			int second = pattern.indexOf( "{1}" );
+			if ( first < 0 || second < 0 || pattern.indexOf( "{0}", first + 3 ) >= 0 || pattern.indexOf( "{1}", second + 3 ) >= 0 ) {
+				return null;
+			}
+
+			boolean swapped = ( second < first );
+			int     head    = Math.min( first, second );
+			int     tail    = Math.max( first, second );
+			return new Pattern( pattern.substring( 0, head ), pattern.substring( head + 3, tail ), pattern.substring( tail + 3 ), swapped );
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+/**
+ * Template segment holding a piece of text that is copied verbatim into the output.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+class LiteralSegment extends TemplateSegment {
+
+	private final String text;
+
+	LiteralSegment( String text ) {
+		this.text = text;
+	}
+
+	/**
+	 * Gets the text held by this segment.
+	 *
+	 * @return The text held by this segment
+	 */
+	String getText() {
+		return this.text;
+	}
+
+	@Override
+	void render( StringBuilder out, Object[] args ) {
+		out.append( this.text );
+	}
+
+	@Override
+	void render( StringBuilder out, long value ) {
+		out.append( this.text );
+	}
+
+	@Override
+	void render( StringBuilder out, double value ) {
+		out.append( this.text );
+	}
+
+	@Override
+	void render( StringBuilder out, CharSequence value ) {
+		out.append( this.text );
+	}
+
+	@Override
+	int getLengthHint() {
+		return this.text.length();
+	}
+
+}
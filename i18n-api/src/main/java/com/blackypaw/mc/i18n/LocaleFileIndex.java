@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index of the language files found inside a translation storage's directory. The directory
+ * is listed once and listed again only after the index has expired, so that checking whether
+ * a language file exists does not require any file system access most of the time. Used by
+ * file based storages in order to answer lazy loads of languages without a file from memory.
+ * The directory is never listed more than once per second, even if the storage is configured
+ * to retry missing locales more often, so that such retries do not list the directory on every
+ * lookup.
+ * <p>
+ * Indices are thread-safe.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+final class LocaleFileIndex {
+
+	private static final long MINIMUM_REFRESH_NANOS = TimeUnit.SECONDS.toNanos( 1L );
+
+	private final File   directory;
+	private final String extension;
+
+	private volatile Set<String> languages;
+	private volatile long        listed;
+
+	/**
+	 * Constructs a new locale file index.
+	 *
+	 * @param directory The directory holding the language files
+	 * @param extension The extension of language files including the leading dot, e.g. ".properties"
+	 */
+	LocaleFileIndex( File directory, String extension ) {
+		this.directory = directory;
+		this.extension = extension;
+	}
+
+	/**
+	 * Gets the file holding the translations of the given locale. A file named after the full
+	 * locale, e.g. pt_BR.properties, takes precedence over a file named after the locale's
+	 * language only, e.g. pt.properties.
+	 *
+	 * @param locale The locale to get the file of
+	 *
+	 * @return The file holding the translations of the locale; it does not need to exist
+	 */
+	File getFile( Locale locale ) {
+		String name = locale.toString();
+		if ( !name.equals( locale.getLanguage() ) ) {
+			File file = new File( this.directory, name + this.extension );
+			if ( file.isFile() ) {
+				return file;
+			}
+		}
+		return new File( this.directory, locale.getLanguage() + this.extension );
+	}
+
+	/**
+	 * Checks whether or not the directory holds a file of the given language.
+	 *
+	 * @param language The name of the file without its extension, e.g. a language code or a locale such as pt_BR
+	 * @param ttlNanos The time in nanoseconds a listing of the directory may be reused for; at least one second
+	 *
+	 * @return Whether or not the directory holds a file of the given language
+	 */
+	boolean contains( String language, long ttlNanos ) {
+		Set<String> languages = this.languages;
+		if ( languages == null || System.nanoTime() - this.listed > Math.max( ttlNanos, MINIMUM_REFRESH_NANOS ) ) {
+			languages = this.list();
+			this.listed = System.nanoTime();
+			this.languages = languages;
+		}
+		return languages.contains( language );
+	}
+
+	private Set<String> list() {
+		String[] files = this.directory.list();
+		if ( files == null ) {
+			return Collections.emptySet();
+		}
+
+		Set<String> languages = new HashSet<>( files.length * 2 );
+		for ( String file : files ) {
+			if ( file.endsWith( this.extension ) ) {
+				languages.add( file.substring( 0, file.length() - this.extension.length() ) );
+			}
+		}
+		return languages;
+	}
+
+}
@@ -7,7 +7,11 @@
 
 package com.blackypaw.mc.i18n;
 
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * A localizer may be used to translate messages stored in a TranslationStorage into actual
@@ -44,4 +48,380 @@ public abstract class Localizer implements AutoCloseable {
 	 */
 	public abstract String translateDirect( Locale locale, int keyHash, Object... args );
 	
+	/**
+	 * Translates a message taking a single integral argument without allocating an argument
+	 * array or boxing the value. See {@link TranslationStorage#translate(Locale, int, long)}.
+	 * Integer arguments are widened to long.
+	 *
+	 * @param locale The language to translate into
+	 * @param key The translation key of the message to be translated
+	 * @param arg The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translateDirect( Locale locale, String key, long arg ) {
+		return this.getStorage().translate( locale, FNVHash.hash1a32( key ), arg );
+	}
+	
+	/**
+	 * See {@link #translateDirect(Locale, String, long)}
+	 *
+	 * @param locale The language to translate into
+	 * @param keyHash The hash of the translation key of the message to be translated
+	 * @param arg The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translateDirect( Locale locale, int keyHash, long arg ) {
+		return this.getStorage().translate( locale, keyHash, arg );
+	}
+	
+	/**
+	 * See {@link #translateDirect(Locale, String, long)}
+	 *
+	 * @param locale The language to translate into
+	 * @param key The translation key of the message to be translated
+	 * @param arg The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translateDirect( Locale locale, String key, double arg ) {
+		return this.getStorage().translate( locale, FNVHash.hash1a32( key ), arg );
+	}
+	
+	/**
+	 * See {@link #translateDirect(Locale, String, long)}
+	 *
+	 * @param locale The language to translate into
+	 * @param keyHash The hash of the translation key of the message to be translated
+	 * @param arg The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translateDirect( Locale locale, int keyHash, double arg ) {
+		return this.getStorage().translate( locale, keyHash, arg );
+	}
+	
+	/**
+	 * See {@link #translateDirect(Locale, String, long)}
+	 *
+	 * @param locale The language to translate into
+	 * @param key The translation key of the message to be translated
+	 * @param arg The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translateDirect( Locale locale, String key, CharSequence arg ) {
+		return this.getStorage().translate( locale, FNVHash.hash1a32( key ), arg );
+	}
+	
+	/**
+	 * See {@link #translateDirect(Locale, String, long)}
+	 *
+	 * @param locale The language to translate into
+	 * @param keyHash The hash of the translation key of the message to be translated
+	 * @param arg The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translateDirect( Locale locale, int keyHash, CharSequence arg ) {
+		return this.getStorage().translate( locale, keyHash, arg );
+	}
+	
+	/**
+	 * Checks whether or not a translation of the given key is available for the given locale.
+	 * See {@link TranslationStorage#hasTranslation(Locale, String)}.
+	 *
+	 * @param locale The locale to check
+	 * @param key The translation key to check
+	 *
+	 * @return Whether or not a translation of the key is available
+	 */
+	public boolean hasTranslation( Locale locale, String key ) {
+		return this.getStorage().hasTranslation( locale, FNVHash.hash1a32( key ) );
+	}
+	
+	/**
+	 * See {@link #hasTranslation(Locale, String)}
+	 *
+	 * @param locale The locale to check
+	 * @param keyHash The hash of the translation key to check
+	 *
+	 * @return Whether or not a translation of the key is available
+	 */
+	public boolean hasTranslation( Locale locale, int keyHash ) {
+		return this.getStorage().hasTranslation( locale, keyHash );
+	}
+	
+	/**
+	 * Translates a message and fits it into the given number of characters. See
+	 * {@link TranslationStorage#translateFitted(Locale, int, int, Object...)} for a more
+	 * thorough explanation.
+	 *
+	 * @param locale The language to translate into
+	 * @param key The translation key of the message to be translated
+	 * @param maxLength The maximum number of characters the translation may take up
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated and fitted string
+	 */
+	public String translateFitted( Locale locale, String key, int maxLength, Object... args ) {
+		return this.getStorage().translateFitted( locale, FNVHash.hash1a32( key ), maxLength, args );
+	}
+	
+	/**
+	 * See {@link #translateFitted(Locale, String, int, Object...)}
+	 *
+	 * @param locale The language to translate into
+	 * @param keyHash The hash of the translation key of the message to be translated
+	 * @param maxLength The maximum number of characters the translation may take up
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated and fitted string
+	 */
+	public String translateFitted( Locale locale, int keyHash, int maxLength, Object... args ) {
+		return this.getStorage().translateFitted( locale, keyHash, maxLength, args );
+	}
+	
+	/**
+	 * Translates a message and centers it within the given width in pixels. See
+	 * {@link TranslationStorage#translateCentered(Locale, int, int, Object...)} for a more
+	 * thorough explanation.
+	 *
+	 * @param locale The language to translate into
+	 * @param key The translation key of the message to be translated
+	 * @param width The width in pixels to center the translation within
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated and centered string
+	 */
+	public String translateCentered( Locale locale, String key, int width, Object... args ) {
+		return this.getStorage().translateCentered( locale, FNVHash.hash1a32( key ), width, args );
+	}
+	
+	/**
+	 * See {@link #translateCentered(Locale, String, int, Object...)}
+	 *
+	 * @param locale The language to translate into
+	 * @param keyHash The hash of the translation key of the message to be translated
+	 * @param width The width in pixels to center the translation within
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated and centered string
+	 */
+	public String translateCentered( Locale locale, int keyHash, int width, Object... args ) {
+		return this.getStorage().translateCentered( locale, keyHash, width, args );
+	}
+	
+	/**
+	 * Translates a message and pads it to the given width in pixels. See
+	 * {@link TranslationStorage#translatePadded(Locale, int, int, Object...)} for a more
+	 * thorough explanation.
+	 *
+	 * @param locale The language to translate into
+	 * @param key The translation key of the message to be translated
+	 * @param width The width in pixels to pad the translation to
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated and padded string
+	 */
+	public String translatePadded( Locale locale, String key, int width, Object... args ) {
+		return this.getStorage().translatePadded( locale, FNVHash.hash1a32( key ), width, args );
+	}
+	
+	/**
+	 * See {@link #translatePadded(Locale, String, int, Object...)}
+	 *
+	 * @param locale The language to translate into
+	 * @param keyHash The hash of the translation key of the message to be translated
+	 * @param width The width in pixels to pad the translation to
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated and padded string
+	 */
+	public String translatePadded( Locale locale, int keyHash, int width, Object... args ) {
+		return this.getStorage().translatePadded( locale, keyHash, width, args );
+	}
+	
+	/**
+	 * Translates a message without any arguments and encodes it using the given encoder. See
+	 * {@link TranslationStorage#translateEncoded(Locale, int, TemplateEncoder)} for a more thorough
+	 * explanation.
+	 *
+	 * @param locale The language to translate into
+	 * @param keyHash The hash of the translation key of the message to be translated
+	 * @param encoder The encoder to use
+	 * @param <T> The type of the encoded form
+	 *
+	 * @return The encoded translation
+	 */
+	public <T> T translateEncoded( Locale locale, int keyHash, TemplateEncoder<T> encoder ) {
+		return this.getStorage().translateEncoded( locale, keyHash, encoder );
+	}
+	
+	/**
+	 * Creates a handle of the given translation key. Handles carry the precomputed hash of
+	 * their key and remember the compiled templates they were translated with, so translating
+	 * through a handle neither hashes the key nor looks it up again. Handles should be created
+	 * once, e.g. when a plugin is enabled, and reused afterwards.
+	 *
+	 * @param key The translation key to create a handle of
+	 *
+	 * @return The handle of the given translation key
+	 */
+	public KeyHandle key( String key ) {
+		return new KeyHandle( this.getStorage(), key );
+	}
+	
+	/**
+	 * Creates a scope of translation keys sharing the given prefix. Keys translated through
+	 * the scope are relative to the prefix which is hashed only once, so no concatenated keys
+	 * need to be built or hashed from scratch at runtime. See {@link KeyScope}.
+	 *
+	 * @param prefix The common prefix of the scope's keys, e.g. "minigame.bedwars.shop"
+	 *
+	 * @return The scope of translation keys sharing the given prefix
+	 */
+	public KeyScope scope( String prefix ) {
+		return new KeyScope( this.getStorage(), prefix );
+	}
+	
+	/**
+	 * Creates a format for lists of items such as "A, B and C" whose patterns are taken from
+	 * the translation storage. See {@link ListFormat}. Formats compile their patterns once per
+	 * locale and should thus be created once and reused afterwards.
+	 *
+	 * @return The created list format
+	 */
+	public ListFormat listFormat() {
+		return new ListFormat( this.getStorage() );
+	}
+	
+	/**
+	 * Creates a format for durations relative to the present such as "5 minutes ago" whose
+	 * patterns are taken from the translation storage. See {@link RelativeTimeFormat}. Formats
+	 * compile their patterns once per locale and should thus be created once and reused afterwards.
+	 *
+	 * @return The created relative time format
+	 */
+	public RelativeTimeFormat relativeTimeFormat() {
+		return new RelativeTimeFormat( this.getStorage() );
+	}
+	
+	/**
+	 * Translates a message using the given key handle. See {@link KeyHandle#translate(Locale, Object...)}.
+	 *
+	 * @param locale The language to translate into
+	 * @param key The handle of the translation key of the message to be translated
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translateDirect( Locale locale, KeyHandle key, Object... args ) {
+		return key.translate( locale, args );
+	}
+	
+	/**
+	 * Registers the given named arguments for a translation key and returns the resulting
+	 * layout. Translations of the key may then refer to their arguments by name, e.g. {player},
+	 * which will be compiled into positional slots once when the translations get loaded.
+	 * Layouts should be created once, e.g. when a plugin is enabled, and reused afterwards.
+	 *
+	 * @param key The translation key to register the named arguments for
+	 * @param names The names of the key's arguments in the order they will be supplied in
+	 *
+	 * @return The layout to pass to {@link #translateDirect(Locale, ArgumentLayout, Object...)}
+	 */
+	public ArgumentLayout layout( String key, String... names ) {
+		ArgumentLayout layout = new ArgumentLayout( key, names );
+		this.getStorage().registerArgumentLayout( layout );
+		return layout;
+	}
+	
+	/**
+	 * Translates a message whose arguments are described by the given layout. The arguments
+	 * must be supplied in the order of the layout's names. See
+	 * {@link #translateDirect(Locale, String, Object...)}.
+	 *
+	 * @param locale The language to translate into
+	 * @param layout The layout of the message's translation key
+	 * @param args The arguments to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translateDirect( Locale locale, ArgumentLayout layout, Object... args ) {
+		return this.getStorage().translate( locale, layout.getKeyHash(), args );
+	}
+	
+	/**
+	 * Translates a message directly into the given buffer. See
+	 * {@link TranslationStorage#translateTo(StringBuilder, Locale, int, Object...)} for a more
+	 * thorough explanation.
+	 *
+	 * @param out The buffer to append the translated message to
+	 * @param locale The language to translate into
+	 * @param keyHash The hash of the translation key of the message to be translated
+	 * @param args Optional arguments to be inserted into the translation
+	 */
+	public void translateTo( StringBuilder out, Locale locale, int keyHash, Object... args ) {
+		this.getStorage().translateTo( out, locale, keyHash, args );
+	}
+	
+	/**
+	 * See {@link #translateTo(StringBuilder, Locale, int, Object...)}
+	 *
+	 * @param out The appendable to append the translated message to
+	 * @param locale The language to translate into
+	 * @param keyHash The hash of the translation key of the message to be translated
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @throws IOException Thrown if the appendable fails to accept the translated message
+	 */
+	public void translateTo( Appendable out, Locale locale, int keyHash, Object... args ) throws IOException {
+		this.getStorage().translateTo( out, locale, keyHash, args );
+	}
+	
+	/**
+	 * Translates a message into each of the given locales exactly once. This is intended for
+	 * broadcasting a message to many recipients: group the recipients by their locale (see
+	 * {@link I18N#groupByLocale(Collection)}) and render the message once per distinct locale
+	 * instead of once per recipient.
+	 *
+	 * @param locales The locales to translate into; duplicates are ignored
+	 * @param key The translation key of the message to be translated
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @return A map holding the translated message for each of the given locales
+	 */
+	public Map<Locale, String> translateForLocales( Collection<Locale> locales, String key, Object... args ) {
+		return this.translateForLocales( locales, FNVHash.hash1a32( key ), args );
+	}
+	
+	/**
+	 * See {@link #translateForLocales(Collection, String, Object...)}
+	 *
+	 * @param locales The locales to translate into; duplicates are ignored
+	 * @param keyHash The hash of the translation key of the message to be translated
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @return A map holding the translated message for each of the given locales
+	 */
+	public Map<Locale, String> translateForLocales( Collection<Locale> locales, int keyHash, Object... args ) {
+		TranslationStorage  storage      = this.getStorage();
+		Map<Locale, String> translations = new HashMap<>( Math.max( 4, locales.size() * 2 ) );
+		for ( Locale locale : locales ) {
+			if ( !translations.containsKey( locale ) ) {
+				translations.put( locale, storage.translate( locale, keyHash, args ) );
+			}
+		}
+		return translations;
+	}
+	
+	/**
+	 * Gets the translation storage the localizer was given during its creation.
+	 *
+	 * @return The translation storage backing this localizer
+	 */
+	abstract TranslationStorage getStorage();
+	
 }
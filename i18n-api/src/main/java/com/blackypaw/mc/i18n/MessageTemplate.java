@@ -0,0 +1,925 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A message template is the compiled form of a single translation. Translations are parsed
+ * exactly once when they are loaded into a translation storage and split up into literal text
+ * and argument slots so that rendering a message boils down to a single pass over a handful
+ * of segments instead of repeatedly searching and replacing placeholders.
+ * <p>
+ * Besides simple argument placeholders such as {0} templates support a subset of the ICU
+ * message format for choosing between several variants of a message:
+ * <ul>
+ * <li>{0,plural,=0{no coins} one{# coin} other{# coins}} - chooses a branch depending on the
+ * plural category of the numeric argument as defined by the template's locale; # is replaced
+ * by the argument itself</li>
+ * <li>{1,select,male{his} female{her} other{their}} - chooses a branch whose selector equals
+ * the argument's string representation</li>
+ * </ul>
+ * Arguments may also be formatted according to the conventions of the template's locale:
+ * <ul>
+ * <li>{0,number} - optionally followed by one of the styles integer, percent, currency,
+ * currency:ISO-CODE or a DecimalFormat pattern</li>
+ * <li>{0,date} and {0,time} - optionally followed by one of the styles short, medium, long,
+ * full or a SimpleDateFormat pattern; accepts Dates, Instants and milliseconds since the epoch</li>
+ * </ul>
+ * The # inside of plural branches is formatted as a number, too.
+ * <p>
+ * An "other" branch is mandatory for both of these. The plural rule of the locale is resolved
+ * once at compile time and all branches are compiled into templates of their own so that
+ * rendering merely requires selecting the appropriate branch. Likewise formatters are resolved
+ * once at compile time and reused per thread.
+ * <p>
+ * Message templates are immutable and may be shared across threads freely. Templates without any
+ * arguments additionally cache their encoded forms, see {@link #encode(TemplateEncoder)}, as
+ * well as their width in pixels, see {@link #measure(Object...)}.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public final class MessageTemplate {
+
+	private static final TemplateSegment[] NO_SEGMENTS = new TemplateSegment[0];
+
+	private static final char COLOR_CHAR       = '\u00A7';
+	private static final int  HEX_COLOR_LENGTH = 14;
+
+	/**
+	 * Scratch buffers used when rendering into appendables other than string builders.
+	 */
+	private static final ThreadLocal<StringBuilder> SCRATCH = new ThreadLocal<StringBuilder>() {
+		@Override
+		protected StringBuilder initialValue() {
+			return new StringBuilder( 256 );
+		}
+	};
+
+	private final String            source;
+	private final TemplateSegment[] segments;
+	private final int               lengthHint;
+
+	/**
+	 * Cached forms derived from the template, e.g. encoded forms of an argument-free template.
+	 */
+	private volatile DerivedForm[] derived;
+
+	/**
+	 * Cached fitted forms of an argument-free template.
+	 */
+	private volatile FittedForms fitted;
+
+	/**
+	 * Cached width in pixels of an argument-free template or -1 if it has not been measured yet.
+	 */
+	private volatile int width = -1;
+
+	private MessageTemplate( String source, TemplateSegment[] segments ) {
+		this.source = source;
+		this.segments = segments;
+
+		int lengthHint = 0;
+		for ( TemplateSegment segment : segments ) {
+			lengthHint += segment.getLengthHint();
+		}
+		this.lengthHint = lengthHint;
+	}
+
+	/**
+	 * Creates a template which will always render the given text as-is. No placeholders
+	 * inside the text will be interpreted.
+	 *
+	 * @param text The text to be rendered by the template
+	 *
+	 * @return The created template
+	 */
+	public static MessageTemplate literal( String text ) {
+		return new MessageTemplate( text, NO_SEGMENTS );
+	}
+
+	/**
+	 * Compiles the given raw translation into a message template. Placeholders of the form
+	 * {0}, {1}, ... are turned into argument slots whereas everything else is kept as
+	 * literal text. Plural branches are selected according to the rules of the English
+	 * language; use {@link #compile(Locale, String)} whenever the template's language is known.
+	 *
+	 * @param source The raw translation to compile
+	 *
+	 * @return The compiled template
+	 */
+	public static MessageTemplate compile( String source ) {
+		return compile( Locale.ENGLISH, source );
+	}
+
+	/**
+	 * Compiles the given raw translation into a message template for the given locale. See
+	 * {@link #compile(String)}.
+	 *
+	 * @param locale The locale of the translation
+	 * @param source The raw translation to compile
+	 *
+	 * @return The compiled template
+	 */
+	public static MessageTemplate compile( Locale locale, String source ) {
+		return compile( locale, PluralRule.forLocale( locale ), source, null, -1 );
+	}
+
+	/**
+	 * Compiles the given raw translation into a message template for the given locale. In
+	 * addition to positional placeholders named placeholders such as {player} are recognized
+	 * and turned into the argument slot the name is found at inside the given list of names.
+	 * Rendering such templates therefore costs exactly as much as rendering templates
+	 * using positional placeholders only.
+	 *
+	 * @param locale The locale of the translation
+	 * @param source The raw translation to compile
+	 * @param names  The names of the template's arguments in order of their slots
+	 *
+	 * @return The compiled template
+	 */
+	public static MessageTemplate compile( Locale locale, String source, String... names ) {
+		return compile( locale, PluralRule.forLocale( locale ), source, names, -1 );
+	}
+
+	/**
+	 * Compiles a raw translation or a branch thereof into a message template.
+	 *
+	 * @param locale      The locale of the translation
+	 * @param rule        The plural rule of the translation's locale
+	 * @param source      The raw text to compile
+	 * @param names       The names of the translation's arguments or null if it has got no named arguments
+	 * @param pluralIndex The index of the argument '#' refers to or -1 if not inside a plural branch
+	 *
+	 * @return The compiled template
+	 */
+	private static MessageTemplate compile( Locale locale, PluralRule rule, String source, String[] names, int pluralIndex ) {
+		List<TemplateSegment> segments = new ArrayList<>();
+		StringBuilder         literal  = new StringBuilder( source.length() );
+
+		int length = source.length();
+		int i      = 0;
+		while ( i < length ) {
+			char            c       = source.charAt( i );
+			TemplateSegment segment = null;
+			int             next    = i + 1;
+
+			if ( c == '{' ) {
+				int end = findClosingBrace( source, i );
+				if ( end != -1 ) {
+					segment = compilePlaceholder( locale, rule, names, source.substring( i + 1, end ), source.substring( i, end + 1 ) );
+					next = end + 1;
+				}
+			} else if ( c == '#' && pluralIndex >= 0 ) {
+				segment = new FormattedArgumentSegment( pluralIndex, "#", FormatterPool.get( FormatterPool.NUMBER, locale, "" ) );
+			}
+
+			if ( segment != null ) {
+				if ( literal.length() > 0 ) {
+					segments.add( new LiteralSegment( literal.toString() ) );
+					literal.setLength( 0 );
+				}
+				segments.add( segment );
+				i = next;
+			} else {
+				literal.append( c );
+				++i;
+			}
+		}
+
+		if ( segments.isEmpty() ) {
+			// Plain text without any placeholders:
+			return new MessageTemplate( source, NO_SEGMENTS );
+		}
+
+		if ( literal.length() > 0 ) {
+			segments.add( new LiteralSegment( literal.toString() ) );
+		}
+
+		return new MessageTemplate( source, segments.toArray( new TemplateSegment[segments.size()] ) );
+	}
+
+	/**
+	 * Gets the raw translation this template was compiled from.
+	 *
+	 * @return The raw translation this template was compiled from
+	 */
+	public String getSource() {
+		return this.source;
+	}
+
+	/**
+	 * Checks whether or not this template contains any placeholders that require arguments
+	 * to be rendered. If it does not, rendering the template will always return its source.
+	 *
+	 * @return Whether or not this template contains any placeholders
+	 */
+	public boolean hasArguments() {
+		return this.segments.length > 0;
+	}
+
+	/**
+	 * Encodes the template's message using the given encoder. If the template does not take any
+	 * arguments its encoded form is computed only once per encoder and reused on subsequent
+	 * invocations using the same encoder. Templates taking arguments are rendered without any arguments
+	 * and encoded on every invocation.
+	 *
+	 * @param encoder The encoder to use
+	 * @param <T>     The type of the encoded form
+	 *
+	 * @return The encoded form of the template's message
+	 */
+	@SuppressWarnings( "unchecked" )
+	public <T> T encode( TemplateEncoder<T> encoder ) {
+		if ( this.segments.length > 0 ) {
+			return encoder.encode( this.render() );
+		}
+
+		Object encoded = this.getDerived( encoder );
+		if ( encoded == null ) {
+			encoded = encoder.encode( this.source );
+			this.putDerived( encoder, encoded );
+		}
+		return (T) encoded;
+	}
+
+	/**
+	 * Gets a form derived from this template which has previously been cached via
+	 * {@link #putDerived(Object, Object)}.
+	 *
+	 * @param key The key the derived form was cached under; compared by identity
+	 *
+	 * @return The derived form or null if none has been cached under the given key
+	 */
+	Object getDerived( Object key ) {
+		DerivedForm[] derived = this.derived;
+		if ( derived != null ) {
+			for ( DerivedForm form : derived ) {
+				if ( form.key == key ) {
+					return form.value;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Caches a form derived from this template for as long as the template itself is in use.
+	 * Derived forms are cached without locking: racing threads may derive the same form more
+	 * than once or lose forms cached concurrently, which merely results in deriving them again.
+	 *
+	 * @param key   The key to cache the derived form under; compared by identity
+	 * @param value The derived form
+	 */
+	void putDerived( Object key, Object value ) {
+		DerivedForm[] derived = this.derived;
+		if ( derived == null ) {
+			derived = new DerivedForm[] { new DerivedForm( key, value ) };
+		} else {
+			derived = Arrays.copyOf( derived, derived.length + 1 );
+			derived[derived.length - 1] = new DerivedForm( key, value );
+		}
+		this.derived = derived;
+	}
+
+	/**
+	 * Renders the template and fits the result into the given number of characters. See
+	 * {@link #fit(String, int)}. If the template does not take any arguments the fitted
+	 * message is computed only once per length and reused on subsequent invocations.
+	 *
+	 * @param maxLength The maximum number of characters the message may take up
+	 * @param args      The arguments to insert
+	 *
+	 * @return The rendered and fitted message
+	 */
+	public String renderFitted( int maxLength, Object... args ) {
+		if ( this.segments.length > 0 ) {
+			return fit( this.render( args ), maxLength );
+		}
+
+		if ( this.source.length() <= maxLength ) {
+			return this.source;
+		}
+
+		FittedForms fitted = this.fitted;
+		if ( fitted != null ) {
+			for ( int i = 0; i < fitted.lengths.length; ++i ) {
+				if ( fitted.lengths[i] == maxLength ) {
+					return fitted.messages[i];
+				}
+			}
+		}
+
+		String message = fit( this.source, maxLength );
+		this.fitted = ( fitted != null ? fitted.with( maxLength, message ) : new FittedForms( new int[] { maxLength }, new String[] { message } ) );
+		return message;
+	}
+
+	/**
+	 * Truncates the given message so that it takes up no more than the given number of characters.
+	 * Formatting codes are never split: a trailing section sign as well as an incomplete hex color
+	 * of the form §x§R§R§G§G§B§B are dropped entirely.
+	 *
+	 * @param message   The message to fit
+	 * @param maxLength The maximum number of characters the message may take up
+	 *
+	 * @return The fitted message or the message itself if it fits already
+	 */
+	public static String fit( String message, int maxLength ) {
+		if ( message.length() <= maxLength ) {
+			return message;
+		}
+
+		int end = Math.max( maxLength, 0 );
+		if ( end > 0 && message.charAt( end - 1 ) == COLOR_CHAR ) {
+			--end;
+		}
+
+		for ( int i = Math.max( end - HEX_COLOR_LENGTH + 1, 0 ); i < end - 1; ++i ) {
+			char c = message.charAt( i + 1 );
+			if ( message.charAt( i ) == COLOR_CHAR && ( c == 'x' || c == 'X' ) ) {
+				// Hex color cut off before its last digit:
+				end = i;
+				break;
+			}
+		}
+
+		return message.substring( 0, end );
+	}
+
+	/**
+	 * Measures the width of the rendered template in pixels, see {@link GlyphWidths#measure(CharSequence)}.
+	 * If the template does not take any arguments it is measured only once and its width is
+	 * reused on subsequent invocations.
+	 *
+	 * @param args The arguments to insert
+	 *
+	 * @return The width of the rendered message in pixels
+	 */
+	public int measure( Object... args ) {
+		if ( this.segments.length > 0 ) {
+			return GlyphWidths.measure( this.render( args ) );
+		}
+		return this.measureSource();
+	}
+
+	/**
+	 * Renders the template and centers the result within the given width in pixels, see
+	 * {@link GlyphWidths#center(String, int, int)}. If the template does not take any arguments
+	 * its cached width is used instead of measuring the message again.
+	 *
+	 * @param width The width in pixels to center the message within
+	 * @param args  The arguments to insert
+	 *
+	 * @return The rendered and centered message
+	 */
+	public String renderCentered( int width, Object... args ) {
+		if ( this.segments.length > 0 ) {
+			String message = this.render( args );
+			return GlyphWidths.center( message, GlyphWidths.measure( message ), width );
+		}
+		return GlyphWidths.center( this.source, this.measureSource(), width );
+	}
+
+	/**
+	 * Renders the template and pads the result to the given width in pixels, see
+	 * {@link GlyphWidths#pad(String, int, int)}. If the template does not take any arguments
+	 * its cached width is used instead of measuring the message again.
+	 *
+	 * @param width The width in pixels to pad the message to
+	 * @param args  The arguments to insert
+	 *
+	 * @return The rendered and padded message
+	 */
+	public String renderPadded( int width, Object... args ) {
+		if ( this.segments.length > 0 ) {
+			String message = this.render( args );
+			return GlyphWidths.pad( message, GlyphWidths.measure( message ), width );
+		}
+		return GlyphWidths.pad( this.source, this.measureSource(), width );
+	}
+
+	private int measureSource() {
+		int width = this.width;
+		if ( width < 0 ) {
+			width = GlyphWidths.measure( this.source );
+			this.width = width;
+		}
+		return width;
+	}
+
+	/**
+	 * Renders the template inserting the given arguments into their respective slots.
+	 * Arguments are converted into strings via their {@link Object#toString()} method.
+	 * Placeholders whose argument has not been supplied are kept as-is.
+	 * <p>
+	 * Arguments which are costly to compute may be given as a {@link Supplier}. Suppliers
+	 * are only invoked if the template actually references their slot and are evaluated
+	 * at most once per render no matter how often the slot is referenced.
+	 *
+	 * @param args The arguments to insert
+	 *
+	 * @return The rendered message
+	 */
+	public String render( Object... args ) {
+		if ( this.segments.length == 0 ) {
+			return this.source;
+		}
+
+		StringBuilder out = new StringBuilder( this.lengthHint );
+		this.renderTo( out, args );
+		return out.toString();
+	}
+
+	/**
+	 * Renders the template using the given integral value as its first and only argument.
+	 * The value is written straight into the output without being boxed.
+	 *
+	 * @param value The value of the first argument
+	 *
+	 * @return The rendered message
+	 */
+	public String render( long value ) {
+		if ( this.segments.length == 0 ) {
+			return this.source;
+		}
+
+		StringBuilder out = new StringBuilder( this.lengthHint );
+		this.append( out, value );
+		return out.toString();
+	}
+
+	/**
+	 * Renders the template using the given floating point value as its first and only argument.
+	 * The value is written straight into the output without being boxed.
+	 *
+	 * @param value The value of the first argument
+	 *
+	 * @return The rendered message
+	 */
+	public String render( double value ) {
+		if ( this.segments.length == 0 ) {
+			return this.source;
+		}
+
+		StringBuilder out = new StringBuilder( this.lengthHint );
+		this.append( out, value );
+		return out.toString();
+	}
+
+	/**
+	 * Renders the template using the given character sequence as its first and only argument.
+	 * The sequence is copied straight into the output without invoking its toString() method.
+	 *
+	 * @param value The value of the first argument
+	 *
+	 * @return The rendered message
+	 */
+	public String render( CharSequence value ) {
+		if ( this.segments.length == 0 ) {
+			return this.source;
+		}
+
+		StringBuilder out = new StringBuilder( this.lengthHint );
+		this.append( out, value );
+		return out.toString();
+	}
+
+	/**
+	 * Renders the template into the given buffer. See {@link #render(Object...)}.
+	 *
+	 * @param out  The buffer to render into
+	 * @param args The arguments to insert
+	 */
+	public void renderTo( StringBuilder out, Object... args ) {
+		if ( this.segments.length == 0 ) {
+			out.append( this.source );
+			return;
+		}
+
+		if ( containsSupplier( args ) ) {
+			// Evaluated suppliers are memoized inside the arguments array which must not be the caller's:
+			args = args.clone();
+		}
+
+		out.ensureCapacity( out.length() + this.lengthHint );
+		this.append( out, args );
+	}
+
+	/**
+	 * Renders the template into the given appendable. See {@link #render(Object...)}.
+	 * If the appendable is not a string builder itself the message is first rendered into
+	 * a per-thread scratch buffer which is reused across invocations.
+	 *
+	 * @param out  The appendable to render into
+	 * @param args The arguments to insert
+	 *
+	 * @throws IOException Thrown if the appendable fails to accept the rendered message
+	 */
+	public void renderTo( Appendable out, Object... args ) throws IOException {
+		if ( out instanceof StringBuilder ) {
+			this.renderTo( (StringBuilder) out, args );
+			return;
+		}
+
+		if ( this.segments.length == 0 ) {
+			out.append( this.source );
+			return;
+		}
+
+		// Rendering may recurse into other templates on the same thread (e.g. through
+		// arguments' toString() methods) so only ever use the buffer beyond its current end:
+		StringBuilder buffer = SCRATCH.get();
+		int           start  = buffer.length();
+		try {
+			this.renderTo( buffer, args );
+			out.append( buffer, start, buffer.length() );
+		} finally {
+			buffer.setLength( start );
+		}
+	}
+
+	/**
+	 * Checks whether any of the given arguments is a supplier to be evaluated lazily.
+	 *
+	 * @param args The arguments to check
+	 *
+	 * @return Whether or not any argument is a supplier
+	 */
+	static boolean containsSupplier( Object[] args ) {
+		for ( Object arg : args ) {
+			if ( arg instanceof Supplier ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Appends the rendered template to the given buffer.
+	 *
+	 * @param out  The buffer to render into
+	 * @param args The arguments to insert
+	 */
+	void append( StringBuilder out, Object[] args ) {
+		if ( this.segments.length == 0 ) {
+			out.append( this.source );
+			return;
+		}
+
+		for ( TemplateSegment segment : this.segments ) {
+			segment.render( out, args );
+		}
+	}
+
+	/**
+	 * Appends the rendered template to the given buffer using a single integral argument.
+	 *
+	 * @param out   The buffer to render into
+	 * @param value The value of the first argument
+	 */
+	void append( StringBuilder out, long value ) {
+		if ( this.segments.length == 0 ) {
+			out.append( this.source );
+			return;
+		}
+
+		for ( TemplateSegment segment : this.segments ) {
+			segment.render( out, value );
+		}
+	}
+
+	/**
+	 * Appends the rendered template to the given buffer using a single floating point argument.
+	 *
+	 * @param out   The buffer to render into
+	 * @param value The value of the first argument
+	 */
+	void append( StringBuilder out, double value ) {
+		if ( this.segments.length == 0 ) {
+			out.append( this.source );
+			return;
+		}
+
+		for ( TemplateSegment segment : this.segments ) {
+			segment.render( out, value );
+		}
+	}
+
+	/**
+	 * Appends the rendered template to the given buffer using a single character sequence argument.
+	 *
+	 * @param out   The buffer to render into
+	 * @param value The value of the first argument
+	 */
+	void append( StringBuilder out, CharSequence value ) {
+		if ( this.segments.length == 0 ) {
+			out.append( this.source );
+			return;
+		}
+
+		for ( TemplateSegment segment : this.segments ) {
+			segment.render( out, value );
+		}
+	}
+
+	/**
+	 * Finds the index of the brace closing the one found at the given index. Nested braces
+	 * are skipped.
+	 *
+	 * @param source The string to search
+	 * @param open   The index of the opening brace
+	 *
+	 * @return The index of the closing brace or -1 if the brace is never closed
+	 */
+	private static int findClosingBrace( String source, int open ) {
+		int depth = 0;
+		for ( int i = open; i < source.length(); ++i ) {
+			char c = source.charAt( i );
+			if ( c == '{' ) {
+				++depth;
+			} else if ( c == '}' ) {
+				if ( --depth == 0 ) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Compiles the contents of a single placeholder into a template segment.
+	 *
+	 * @param locale      The locale of the translation
+	 * @param rule        The plural rule of the translation's locale
+	 * @param names       The names of the translation's arguments or null if it has got no named arguments
+	 * @param content     The text found between the placeholder's braces
+	 * @param placeholder The full placeholder including its braces
+	 *
+	 * @return The compiled segment or null if the placeholder is not recognized
+	 */
+	private static TemplateSegment compilePlaceholder( Locale locale, PluralRule rule, String[] names, String content, String placeholder ) {
+		int separator = content.indexOf( ',' );
+		if ( separator == -1 ) {
+			int index = parseIndex( content, names );
+			if ( index < 0 ) {
+				return null;
+			}
+			return new ArgumentSegment( index, placeholder );
+		}
+
+		int index = parseIndex( content.substring( 0, separator ).trim(), names );
+		if ( index < 0 ) {
+			return null;
+		}
+
+		int    styleSeparator = content.indexOf( ',', separator + 1 );
+		String type           = ( styleSeparator == -1 ? content.substring( separator + 1 ) : content.substring( separator + 1, styleSeparator ) ).trim();
+		String style          = ( styleSeparator == -1 ? "" : content.substring( styleSeparator + 1 ) );
+
+		switch ( type ) {
+			case "plural":
+				return compilePlural( locale, rule, names, index, style, placeholder );
+			case "select":
+				return compileSelect( locale, rule, names, index, style, placeholder );
+			case "number":
+				return compileFormatted( FormatterPool.NUMBER, locale, index, style, placeholder );
+			case "date":
+				return compileFormatted( FormatterPool.DATE, locale, index, style, placeholder );
+			case "time":
+				return compileFormatted( FormatterPool.TIME, locale, index, style, placeholder );
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Compiles a plural placeholder into a plural segment.
+	 *
+	 * @param locale      The locale of the translation
+	 * @param rule        The plural rule of the translation's locale
+	 * @param names       The names of the translation's arguments or null if it has got no named arguments
+	 * @param index       The index of the argument to select a branch by
+	 * @param style       The branches of the placeholder
+	 * @param placeholder The full placeholder including its braces
+	 *
+	 * @return The compiled segment or null if the placeholder is malformed
+	 */
+	private static TemplateSegment compilePlural( Locale locale, PluralRule rule, String[] names, int index, String style, String placeholder ) {
+		Map<String, String> branches = parseBranches( style );
+		if ( branches == null || !branches.containsKey( "other" ) ) {
+			return null;
+		}
+
+		MessageTemplate       other         = compile( locale, rule, branches.get( "other" ), names, index );
+		MessageTemplate[]     categories    = new MessageTemplate[PluralRule.CATEGORY_COUNT];
+		List<Long>            exacts        = new ArrayList<>();
+		List<MessageTemplate> exactBranches = new ArrayList<>();
+
+		for ( int i = 0; i < categories.length; ++i ) {
+			categories[i] = other;
+		}
+
+		for ( Map.Entry<String, String> branch : branches.entrySet() ) {
+			String selector = branch.getKey();
+			if ( selector.startsWith( "=" ) ) {
+				try {
+					exacts.add( Long.parseLong( selector.substring( 1 ) ) );
+				} catch ( NumberFormatException e ) {
+					return null;
+				}
+				exactBranches.add( compile( locale, rule, branch.getValue(), names, index ) );
+			} else {
+				int category = PluralRule.getCategory( selector );
+				if ( category < 0 ) {
+					return null;
+				}
+				if ( category != PluralRule.OTHER ) {
+					categories[category] = compile( locale, rule, branch.getValue(), names, index );
+				}
+			}
+		}
+
+		long[] exactValues = new long[exacts.size()];
+		for ( int i = 0; i < exactValues.length; ++i ) {
+			exactValues[i] = exacts.get( i );
+		}
+
+		return new PluralSegment( index, placeholder, rule, exactValues, exactBranches.toArray( new MessageTemplate[exactBranches.size()] ), categories );
+	}
+
+	/**
+	 * Compiles a select placeholder into a select segment.
+	 *
+	 * @param locale      The locale of the translation
+	 * @param rule        The plural rule of the translation's locale
+	 * @param names       The names of the translation's arguments or null if it has got no named arguments
+	 * @param index       The index of the argument to select a branch by
+	 * @param style       The branches of the placeholder
+	 * @param placeholder The full placeholder including its braces
+	 *
+	 * @return The compiled segment or null if the placeholder is malformed
+	 */
+	private static TemplateSegment compileSelect( Locale locale, PluralRule rule, String[] names, int index, String style, String placeholder ) {
+		Map<String, String> branches = parseBranches( style );
+		if ( branches == null || !branches.containsKey( "other" ) ) {
+			return null;
+		}
+
+		MessageTemplate   other     = compile( locale, rule, branches.remove( "other" ), names, -1 );
+		String[]          selectors = new String[branches.size()];
+		MessageTemplate[] templates = new MessageTemplate[branches.size()];
+
+		int i = 0;
+		for ( Map.Entry<String, String> branch : branches.entrySet() ) {
+			selectors[i] = branch.getKey();
+			templates[i] = compile( locale, rule, branch.getValue(), names, -1 );
+			++i;
+		}
+
+		return new SelectSegment( index, placeholder, selectors, templates, other );
+	}
+
+	/**
+	 * Compiles a number, date or time placeholder into a formatted argument segment.
+	 *
+	 * @param type        The type of formatter to use
+	 * @param locale      The locale of the translation
+	 * @param index       The index of the argument to format
+	 * @param style       The style of the formatter
+	 * @param placeholder The full placeholder including its braces
+	 *
+	 * @return The compiled segment or null if the style is invalid
+	 */
+	private static TemplateSegment compileFormatted( int type, Locale locale, int index, String style, String placeholder ) {
+		FormatterPool formatter = FormatterPool.get( type, locale, style.trim() );
+		if ( formatter == null ) {
+			return null;
+		}
+		return new FormattedArgumentSegment( index, placeholder, formatter );
+	}
+
+	/**
+	 * Parses a list of branches of the form 'selector{text} selector{text} ...'.
+	 *
+	 * @param style The text to parse
+	 *
+	 * @return The branches in order of their declaration or null if the text is malformed
+	 */
+	private static Map<String, String> parseBranches( String style ) {
+		Map<String, String> branches = new LinkedHashMap<>();
+
+		int length = style.length();
+		int i      = 0;
+		while ( i < length ) {
+			if ( Character.isWhitespace( style.charAt( i ) ) ) {
+				++i;
+				continue;
+			}
+
+			int open = style.indexOf( '{', i );
+			if ( open == -1 ) {
+				return null;
+			}
+
+			int close = findClosingBrace( style, open );
+			if ( close == -1 ) {
+				return null;
+			}
+
+			String selector = style.substring( i, open ).trim();
+			if ( selector.isEmpty() || branches.containsKey( selector ) ) {
+				return null;
+			}
+
+			branches.put( selector, style.substring( open + 1, close ) );
+			i = close + 1;
+		}
+
+		return branches.isEmpty() ? null : branches;
+	}
+
+	/**
+	 * Parses a non-negative argument index or looks up the index of a named argument.
+	 *
+	 * @param content The text to parse
+	 * @param names   The names of the translation's arguments or null if it has got no named arguments
+	 *
+	 * @return The parsed index or -1 if the text is neither a valid index nor a known name
+	 */
+	private static int parseIndex( String content, String[] names ) {
+		if ( names != null ) {
+			for ( int i = 0; i < names.length; ++i ) {
+				if ( names[i].equals( content ) ) {
+					return i;
+				}
+			}
+		}
+
+		if ( content.isEmpty() || content.length() > 4 ) {
+			return -1;
+		}
+
+		int index = 0;
+		for ( int i = 0; i < content.length(); ++i ) {
+			char c = content.charAt( i );
+			if ( c < '0' || c > '9' ) {
+				return -1;
+			}
+			index = index * 10 + ( c - '0' );
+		}
+		return index;
+	}
+
+	/**
+	 * A form derived from a template along with the key it was cached under.
+	 */
+	private static final class DerivedForm {
+
+		private final Object key;
+		private final Object value;
+
+		private DerivedForm( Object key, Object value ) {
+			this.key = key;
+			this.value = value;
+		}
+
+	}
+
+	/**
+	 * Fitted forms of a template by the lengths they were fitted into.
+	 */
+	private static final class FittedForms {
+
+		private final int[]    lengths;
+		private final String[] messages;
+
+		private FittedForms( int[] lengths, String[] messages ) {
+			this.lengths = lengths;
+			this.messages = messages;
+		}
+
+		private FittedForms with( int length, String message ) {
+			int[]    lengths  = Arrays.copyOf( this.lengths, this.lengths.length + 1 );
+			String[] messages = Arrays.copyOf( this.messages, this.messages.length + 1 );
+			lengths[lengths.length - 1] = length;
+			messages[messages.length - 1] = message;
+			return new FittedForms( lengths, messages );
+		}
+
+	}
+
+}
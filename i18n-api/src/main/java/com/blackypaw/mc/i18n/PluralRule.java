@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.Locale;
+
+/**
+ * Plural rules map integral numbers onto the plural categories used by a language as defined
+ * by the Unicode CLDR. Only the rules for integers are implemented; fractional numbers always
+ * fall into the category 'other'.
+ * <p>
+ * Rules are stateless and resolved once per locale when a template gets compiled.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+abstract class PluralRule {
+
+	static final int ZERO  = 0;
+	static final int ONE   = 1;
+	static final int TWO   = 2;
+	static final int FEW   = 3;
+	static final int MANY  = 4;
+	static final int OTHER = 5;
+
+	static final int CATEGORY_COUNT = 6;
+
+	/**
+	 * Languages without any grammatical number, e.g. Japanese or Chinese.
+	 */
+	private static final PluralRule NONE = new PluralRule() {
+		@Override
+		int select( long n ) {
+			return OTHER;
+		}
+	};
+
+	/**
+	 * Languages distinguishing between exactly one and everything else, e.g. English or German.
+	 */
+	private static final PluralRule ONE_OTHER = new PluralRule() {
+		@Override
+		int select( long n ) {
+			return ( n == 1 ? ONE : OTHER );
+		}
+	};
+
+	/**
+	 * Languages treating both zero and one as singular, e.g. French.
+	 */
+	private static final PluralRule ZERO_ONE_OTHER = new PluralRule() {
+		@Override
+		int select( long n ) {
+			return ( n == 0 || n == 1 ? ONE : OTHER );
+		}
+	};
+
+	/**
+	 * East Slavic languages, e.g. Russian or Ukrainian.
+	 */
+	private static final PluralRule EAST_SLAVIC = new PluralRule() {
+		@Override
+		int select( long n ) {
+			long mod10  = Math.abs( n % 10 );
+			long mod100 = Math.abs( n % 100 );
+			if ( mod10 == 1 && mod100 != 11 ) {
+				return ONE;
+			}
+			if ( mod10 >= 2 && mod10 <= 4 && ( mod100 < 12 || mod100 > 14 ) ) {
+				return FEW;
+			}
+			return MANY;
+		}
+	};
+
+	/**
+	 * South Slavic languages, e.g. Croatian or Serbian.
+	 */
+	private static final PluralRule SOUTH_SLAVIC = new PluralRule() {
+		@Override
+		int select( long n ) {
+			long mod10  = Math.abs( n % 10 );
+			long mod100 = Math.abs( n % 100 );
+			if ( mod10 == 1 && mod100 != 11 ) {
+				return ONE;
+			}
+			if ( mod10 >= 2 && mod10 <= 4 && ( mod100 < 12 || mod100 > 14 ) ) {
+				return FEW;
+			}
+			return OTHER;
+		}
+	};
+
+	/**
+	 * Polish.
+	 */
+	private static final PluralRule POLISH = new PluralRule() {
+		@Override
+		int select( long n ) {
+			if ( n == 1 ) {
+				return ONE;
+			}
+			long mod10  = Math.abs( n % 10 );
+			long mod100 = Math.abs( n % 100 );
+			if ( mod10 >= 2 && mod10 <= 4 && ( mod100 < 12 || mod100 > 14 ) ) {
+				return FEW;
+			}
+			return MANY;
+		}
+	};
+
+	/**
+	 * Czech and Slovak.
+	 */
+	private static final PluralRule CZECH = new PluralRule() {
+		@Override
+		int select( long n ) {
+			if ( n == 1 ) {
+				return ONE;
+			}
+			if ( n >= 2 && n <= 4 ) {
+				return FEW;
+			}
+			return OTHER;
+		}
+	};
+
+	/**
+	 * Romanian.
+	 */
+	private static final PluralRule ROMANIAN = new PluralRule() {
+		@Override
+		int select( long n ) {
+			if ( n == 1 ) {
+				return ONE;
+			}
+			long mod100 = Math.abs( n % 100 );
+			if ( n == 0 || ( mod100 >= 2 && mod100 <= 19 ) ) {
+				return FEW;
+			}
+			return OTHER;
+		}
+	};
+
+	/**
+	 * Slovenian.
+	 */
+	private static final PluralRule SLOVENIAN = new PluralRule() {
+		@Override
+		int select( long n ) {
+			long mod100 = Math.abs( n % 100 );
+			if ( mod100 == 1 ) {
+				return ONE;
+			}
+			if ( mod100 == 2 ) {
+				return TWO;
+			}
+			if ( mod100 == 3 || mod100 == 4 ) {
+				return FEW;
+			}
+			return OTHER;
+		}
+	};
+
+	/**
+	 * Hebrew.
+	 */
+	private static final PluralRule HEBREW = new PluralRule() {
+		@Override
+		int select( long n ) {
+			if ( n == 1 ) {
+				return ONE;
+			}
+			if ( n == 2 ) {
+				return TWO;
+			}
+			return OTHER;
+		}
+	};
+
+	/**
+	 * Arabic.
+	 */
+	private static final PluralRule ARABIC = new PluralRule() {
+		@Override
+		int select( long n ) {
+			if ( n == 0 ) {
+				return ZERO;
+			}
+			if ( n == 1 ) {
+				return ONE;
+			}
+			if ( n == 2 ) {
+				return TWO;
+			}
+			long mod100 = Math.abs( n % 100 );
+			if ( mod100 >= 3 && mod100 <= 10 ) {
+				return FEW;
+			}
+			if ( mod100 >= 11 ) {
+				return MANY;
+			}
+			return OTHER;
+		}
+	};
+
+	/**
+	 * Gets the plural rule of the given locale's language. Languages not known to I18N
+	 * will use the rule for English.
+	 *
+	 * @param locale The locale to get the plural rule for
+	 *
+	 * @return The plural rule of the given locale
+	 */
+	static PluralRule forLocale( Locale locale ) {
+		switch ( locale.getLanguage() ) {
+			case "ja":
+			case "zh":
+			case "ko":
+			case "vi":
+			case "th":
+			case "id":
+			case "ms":
+				return NONE;
+			case "fr":
+			case "hi":
+			case "pt":
+				return ZERO_ONE_OTHER;
+			case "ru":
+			case "uk":
+			case "be":
+				return EAST_SLAVIC;
+			case "hr":
+			case "sr":
+			case "bs":
+				return SOUTH_SLAVIC;
+			case "pl":
+				return POLISH;
+			case "cs":
+			case "sk":
+				return CZECH;
+			case "ro":
+				return ROMANIAN;
+			case "sl":
+				return SLOVENIAN;
+			case "he":
+			case "iw":
+				return HEBREW;
+			case "ar":
+				return ARABIC;
+			default:
+				return ONE_OTHER;
+		}
+	}
+
+	/**
+	 * Gets the category constant of the given CLDR category keyword.
+	 *
+	 * @param keyword The keyword, e.g. 'one' or 'few'
+	 *
+	 * @return The category constant or -1 if the keyword is unknown
+	 */
+	static int getCategory( String keyword ) {
+		switch ( keyword ) {
+			case "zero":
+				return ZERO;
+			case "one":
+				return ONE;
+			case "two":
+				return TWO;
+			case "few":
+				return FEW;
+			case "many":
+				return MANY;
+			case "other":
+				return OTHER;
+			default:
+				return -1;
+		}
+	}
+
+	/**
+	 * Selects the plural category of the given integral number.
+	 *
+	 * @param n The number to select the category of
+	 *
+	 * @return The plural category of the number
+	 */
+	abstract int select( long n );
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.math.BigDecimal;
+
+/**
+ * Template segment which chooses one of several branches depending on the plural category
+ * of a numeric argument. Branches for exact values (e.g. '=0') take precedence over branches
+ * for plural categories. Categories without a branch of their own share the 'other' branch.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+class PluralSegment extends TemplateSegment {
+
+	private final int               index;
+	private final String            placeholder;
+	private final PluralRule        rule;
+	private final long[]            exactValues;
+	private final MessageTemplate[] exactBranches;
+	private final MessageTemplate[] categoryBranches;
+
+	PluralSegment( int index, String placeholder, PluralRule rule, long[] exactValues, MessageTemplate[] exactBranches, MessageTemplate[] categoryBranches ) {
+		this.index = index;
+		this.placeholder = placeholder;
+		this.rule = rule;
+		this.exactValues = exactValues;
+		this.exactBranches = exactBranches;
+		this.categoryBranches = categoryBranches;
+	}
+
+	@Override
+	void render( StringBuilder out, Object[] args ) {
+		if ( this.index >= args.length ) {
+			out.append( this.placeholder );
+			return;
+		}
+
+		Object arg = argument( args, this.index );
+		if ( arg instanceof Number && isIntegral( (Number) arg ) ) {
+			this.selectBranch( ( (Number) arg ).longValue() ).append( out, args );
+		} else {
+			// Fractional numbers and non-numeric arguments:
+			this.categoryBranches[PluralRule.OTHER].append( out, args );
+		}
+	}
+
+	@Override
+	void render( StringBuilder out, long value ) {
+		if ( this.index != 0 ) {
+			out.append( this.placeholder );
+			return;
+		}
+		this.selectBranch( value ).append( out, value );
+	}
+
+	@Override
+	void render( StringBuilder out, double value ) {
+		if ( this.index != 0 ) {
+			out.append( this.placeholder );
+			return;
+		}
+
+		if ( value == Math.rint( value ) && !Double.isInfinite( value ) ) {
+			this.selectBranch( (long) value ).append( out, value );
+		} else {
+			this.categoryBranches[PluralRule.OTHER].append( out, value );
+		}
+	}
+
+	@Override
+	void render( StringBuilder out, CharSequence value ) {
+		if ( this.index != 0 ) {
+			out.append( this.placeholder );
+			return;
+		}
+		this.categoryBranches[PluralRule.OTHER].append( out, value );
+	}
+
+	@Override
+	int getLengthHint() {
+		return this.categoryBranches[PluralRule.OTHER].getSource().length();
+	}
+
+	/**
+	 * Selects the branch to render for the given value.
+	 *
+	 * @param value The value of the argument
+	 *
+	 * @return The branch to render
+	 */
+	private MessageTemplate selectBranch( long value ) {
+		for ( int i = 0; i < this.exactValues.length; ++i ) {
+			if ( this.exactValues[i] == value ) {
+				return this.exactBranches[i];
+			}
+		}
+		return this.categoryBranches[this.rule.select( value )];
+	}
+
+	/**
+	 * Checks whether the given number has got no fractional part.
+	 *
+	 * @param number The number to check
+	 *
+	 * @return Whether or not the number is integral
+	 */
+	private static boolean isIntegral( Number number ) {
+		if ( number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte ) {
+			return true;
+		}
+		if ( number instanceof BigDecimal ) {
+			// Visible fraction digits such as in 1.00 select 'other' just like any fraction would:
+			return ( (BigDecimal) number ).scale() <= 0;
+		}
+
+		double value = number.doubleValue();
+		return value == Math.rint( value ) && !Double.isInfinite( value );
+	}
+
+}
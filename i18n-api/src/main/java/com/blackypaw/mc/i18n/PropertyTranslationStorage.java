@@ -17,6 +17,7 @@ import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * TranslationStorage implementation based on Java's .properties files. Supports
@@ -27,14 +28,14 @@ import java.util.Properties;
  */
 public class PropertyTranslationStorage extends TranslationStorageAdapter {
 
-	private final File baseDirectory;
+	private final LocaleFileIndex index;
 
 	/**
 	 * Constructs a new property translation storage. The created instance will attempt
 	 * to resolve translations given the directory all .properties files containing the
 	 * locale specific translations are stored in. The files are expected to be named
-	 * after the language code of the respective language, e.g. en.properties or
-	 * de.properties.
+	 * after the respective locale, e.g. en.properties, de.properties or pt_BR.properties.
+	 * Locales without a file of their own use the file of their language.
 	 * <p>
 	 * Per default the created instance is not allowed to lazy load any translations.
 	 *
@@ -42,30 +43,27 @@ public class PropertyTranslationStorage extends TranslationStorageAdapter {
 	 */
 	public PropertyTranslationStorage( I18N i18n, File directory ) {
 		super( i18n, false );
-		this.baseDirectory = directory;
+		this.index = new LocaleFileIndex( directory, ".properties" );
 	}
 
 	/**
 	 * Constructs a new property translation storage. The created instance will attempt
 	 * to resolve translations given the directory all .properties files containing the
 	 * locale specific translations are stored in. The files are expected to be named
-	 * after the language code of the respective language, e.g. en.properties or
-	 * de.properties.
+	 * after the respective locale, e.g. en.properties, de.properties or pt_BR.properties.
+	 * Locales without a file of their own use the file of their language.
 	 *
 	 * @param directory The directory all property files are stored in
 	 * @param lazyLoad Whether or not lazy loading of translations should be allowed
 	 */
 	public PropertyTranslationStorage( I18N i18n, File directory, boolean lazyLoad ) {
 		super( i18n, lazyLoad );
-		this.baseDirectory = directory;
+		this.index = new LocaleFileIndex( directory, ".properties" );
 	}
 
 	@Override
 	public void loadLanguage( Locale locale ) throws IOException {
-		// Clear any cached results:
-		this.translations.remove( locale );
-
-		try ( InputStream in = new BufferedInputStream( new FileInputStream( new File( this.baseDirectory, locale.getLanguage() + ".properties" ) ) ) ) {
+		try ( InputStream in = new BufferedInputStream( new FileInputStream( this.index.getFile( locale ) ) ) ) {
 			Properties properties = new Properties();
 			properties.load( in );
 			this.loadLanguage( locale, properties );
@@ -81,18 +79,27 @@ public class PropertyTranslationStorage extends TranslationStorageAdapter {
 	 * @throws IOException Thrown in case the language could not be loaded
 	 */
 	public void loadLanguage( Locale locale, Properties properties ) throws IOException {
-		Map<Integer, String> translation = new HashMap<>();
+		Map<String, String> translation = new HashMap<>();
 		Enumeration e = properties.propertyNames();
 		while ( e.hasMoreElements() ) {
 			String propertyName = (String) e.nextElement();
-			int hash = FNVHash.hash1a32( propertyName );
-			if ( translation.containsKey( hash ) ) {
-				throw new IOException( "Colliding hash codes for distinct translation keys: '" + propertyName + "'" );
-			}
-			translation.put( hash, properties.getProperty( propertyName ) );
+			translation.put( propertyName, properties.getProperty( propertyName ) );
+		}
+
+		this.loadLanguage( locale, translation );
+	}
+
+	@Override
+	protected boolean isLanguageAvailable( Locale locale ) {
+		long ttl = this.getMissingLocaleTtl( TimeUnit.NANOSECONDS );
+		if ( this.index.contains( locale.toString(), ttl ) ) {
+			return true;
 		}
 
-		this.translations.put( locale, translation );
+		// Locales falling back to their language anyway are answered from the language's
+		// table instead of loading the language's file once more:
+		Locale language = new Locale( locale.getLanguage() );
+		return !this.getFallbackChain( locale ).contains( language ) && this.index.contains( language.getLanguage(), ttl );
 	}
 
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Formats durations relative to the present such as "5 minutes ago" or "in 2 hours" according
+ * to the conventions of a locale. Durations are bucketed into the largest unit they amount to
+ * at least one of, i.e. seconds, minutes, hours, days, weeks, months (30 days) or years (365
+ * days), and the remainder is discarded.
+ * <p>
+ * The patterns of each unit are taken from the translation storage so that translators may
+ * adjust them for their language. Every unit has a pattern for the past, e.g. i18n.time.minute.past,
+ * and one for the future, e.g. i18n.time.minute.future, both of which receive the amount as their
+ * first argument; the English defaults are "{0,plural,one{# minute ago} other{# minutes ago}}" and
+ * "in {0,plural,one{# minute} other{# minutes}}" respectively. Durations shorter than a second
+ * are formatted using the pattern i18n.time.now which defaults to "just now".
+ * <p>
+ * The patterns are compiled once per locale and compiled again only after the storage's
+ * translations have changed. As bucketing yields only a small number of distinct outputs
+ * the formatted strings of amounts below {@link #CACHED_AMOUNTS} are cached per locale, too.
+ * <p>
+ * Relative time formats are obtained via {@link Localizer#relativeTimeFormat()}, are thread-safe
+ * and meant to be created once and kept around.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public final class RelativeTimeFormat {
+
+	/**
+	 * The number of amounts per unit whose formatted strings are cached.
+	 */
+	public static final int CACHED_AMOUNTS = 60;
+
+	private static final String[] UNITS       = { "second", "minute", "hour", "day", "week", "month", "year" };
+	private static final long[]   UNIT_MILLIS = { 1000L, 60000L, 3600000L, 86400000L, 604800000L, 2592000000L, 31536000000L };
+
+	private static final int PAST   = 0;
+	private static final int FUTURE = 1;
+
+	private static final String NOW_KEY     = "i18n.time.now";
+	private static final String DEFAULT_NOW = "just now";
+
+	private final TranslationStorage                      storage;
+	private final ConcurrentMap<Locale, CompiledPatterns> patterns;
+
+	RelativeTimeFormat( TranslationStorage storage ) {
+		this.storage = storage;
+		this.patterns = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Formats the time elapsed since or remaining until the given point in time.
+	 *
+	 * @param locale    The locale to format the duration for
+	 * @param timestamp The point in time in milliseconds since the epoch
+	 *
+	 * @return The formatted duration
+	 */
+	public String formatSince( Locale locale, long timestamp ) {
+		return this.format( locale, timestamp - System.currentTimeMillis() );
+	}
+
+	/**
+	 * Formats the given duration relative to the present.
+	 *
+	 * @param locale The locale to format the duration for
+	 * @param millis The duration in milliseconds; negative durations lie in the past, positive
+	 *               ones in the future
+	 *
+	 * @return The formatted duration
+	 */
+	public String format( Locale locale, long millis ) {
+		CompiledPatterns patterns  = this.getPatterns( locale );
+		int              direction = ( millis < 0L ? PAST : FUTURE );
+		long             duration  = Math.abs( millis );
+
+		if ( duration < UNIT_MILLIS[0] ) {
+			return patterns.now;
+		}
+
+		int unit = UNITS.length - 1;
+		while ( duration < UNIT_MILLIS[unit] ) {
+			--unit;
+		}
+		long amount = duration / UNIT_MILLIS[unit];
+
+		if ( amount >= CACHED_AMOUNTS ) {
+			return patterns.templates[direction][unit].render( amount );
+		}
+
+		String[] cache     = patterns.cache[direction][unit];
+		String   formatted = cache[(int) amount];
+		if ( formatted == null ) {
+			formatted = patterns.templates[direction][unit].render( amount );
+			cache[(int) amount] = formatted;
+		}
+		return formatted;
+	}
+
+	/**
+	 * Formats the given duration relative to the present and appends it to the given buffer.
+	 *
+	 * @param out    The buffer to append the formatted duration to
+	 * @param locale The locale to format the duration for
+	 * @param millis The duration in milliseconds; negative durations lie in the past, positive
+	 *               ones in the future
+	 */
+	public void formatTo( StringBuilder out, Locale locale, long millis ) {
+		out.append( this.format( locale, millis ) );
+	}
+
+	private CompiledPatterns getPatterns( Locale locale ) {
+		int              generation = this.storage.getGeneration();
+		CompiledPatterns patterns   = this.patterns.get( locale );
+		if ( patterns == null || patterns.generation != generation ) {
+			patterns = this.compile( locale, generation );
+			this.patterns.put( locale, patterns );
+		}
+		return patterns;
+	}
+
+	private CompiledPatterns compile( Locale locale, int generation ) {
+		MessageTemplate[][] templates = new MessageTemplate[2][UNITS.length];
+		for ( int i = 0; i < UNITS.length; ++i ) {
+			String unit = UNITS[i];
+			templates[PAST][i] = this.storage.getTemplateOrDefault( locale, "i18n.time." + unit + ".past", "{0,plural,one{# " + unit + " ago} other{# " + unit + "s ago}}" );
+			templates[FUTURE][i] = this.storage.getTemplateOrDefault( locale, "i18n.time." + unit + ".future", "in {0,plural,one{# " + unit + "} other{# " + unit + "s}}" );
+		}
+
+		String now = this.storage.getTemplateOrDefault( locale, NOW_KEY, DEFAULT_NOW ).render();
+		return new CompiledPatterns( generation, now, templates );
+	}
+
+	/**
+	 * The patterns of a locale along with the storage generation they were compiled in and
+	 * the strings formatted using them so far.
+	 */
+	private static final class CompiledPatterns {
+
+		private final int                 generation;
+		private final String              now;
+		private final MessageTemplate[][] templates;
+		private final String[][][]        cache;
+
+		private CompiledPatterns( int generation, String now, MessageTemplate[][] templates ) {
+			this.generation = generation;
+			this.now = now;
+			this.templates = templates;
+			this.cache = new String[2][UNITS.length][CACHED_AMOUNTS];
+		}
+
+	}
+
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of rendered messages which may be put in front of a translation storage
+ * via {@link TranslationStorage#setRenderCache(RenderCache)}. Whenever the same message is
+ * translated into the same locale using equal arguments the previously rendered string will
+ * be returned instead of rendering the message again.
+ * <p>
+ * The cache evicts the least recently used message once it reaches its maximum size and
+ * discards messages older than its time-to-live or rendered before the storage's translations
+ * last changed. Only messages whose arguments are all
+ * immutable values (strings, boxed primitives, enums, UUIDs and locales) will be cached;
+ * messages with other arguments are always rendered.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public class RenderCache {
+
+	private static final int MAXIMUM_STRIPES = 16;
+
+	private final int  maximumSize;
+	private final long ttlNanos;
+
+	/**
+	 * The messages held by this cache split up into stripes by the hashes of their keys, each
+	 * of which is guarded by its own lock and evicts its least recently used message on its own,
+	 * so that concurrent lookups of different messages rarely contend for the same lock.
+	 */
+	private final Map<RenderKey, CachedMessage>[] stripes;
+	private final int                             stripeMask;
+	private final AtomicLong                      hits;
+	private final AtomicLong                      misses;
+
+	/**
+	 * Probe keys used for lookups so that no key needs to be allocated unless a message is
+	 * actually inserted into the cache.
+	 */
+	private final ThreadLocal<RenderKey> probes = new ThreadLocal<RenderKey>() {
+		@Override
+		protected RenderKey initialValue() {
+			return new RenderKey();
+		}
+	};
+
+	/**
+	 * Constructs a new render cache.
+	 *
+	 * @param maximumSize The maximum number of messages to hold
+	 * @param ttl         The time a rendered message may be returned for after it was rendered
+	 * @param unit        The unit of the time-to-live
+	 */
+	@SuppressWarnings( "unchecked" )
+	public RenderCache( int maximumSize, long ttl, TimeUnit unit ) {
+		if ( maximumSize <= 0 ) {
+			throw new IllegalArgumentException( "Maximum size of render cache must be positive" );
+		}
+
+		int stripeCount = 1;
+		while ( stripeCount < MAXIMUM_STRIPES && stripeCount * 2 <= maximumSize ) {
+			stripeCount <<= 1;
+		}
+
+		this.maximumSize = maximumSize;
+		this.ttlNanos = unit.toNanos( ttl );
+		this.stripes = (Map<RenderKey, CachedMessage>[]) new Map<?, ?>[stripeCount];
+		this.stripeMask = stripeCount - 1;
+		for ( int i = 0; i < stripeCount; ++i ) {
+			// Distribute the maximum size among the stripes so that they add up to it exactly:
+			final int stripeSize = maximumSize / stripeCount + ( i < maximumSize % stripeCount ? 1 : 0 );
+			this.stripes[i] = new LinkedHashMap<RenderKey, CachedMessage>( 16, 0.75F, true ) {
+				@Override
+				protected boolean removeEldestEntry( Map.Entry<RenderKey, CachedMessage> eldest ) {
+					return this.size() > stripeSize;
+				}
+			};
+		}
+		this.hits = new AtomicLong( 0L );
+		this.misses = new AtomicLong( 0L );
+	}
+
+	/**
+	 * Gets the maximum number of messages held by this cache.
+	 *
+	 * @return The maximum number of messages held by this cache
+	 */
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Gets the number of messages currently held by this cache.
+	 *
+	 * @return The number of messages currently held by this cache
+	 */
+	public int size() {
+		int size = 0;
+		for ( Map<RenderKey, CachedMessage> stripe : this.stripes ) {
+			synchronized ( stripe ) {
+				size += stripe.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Gets the number of lookups that could be answered from the cache.
+	 *
+	 * @return The number of cache hits
+	 */
+	public long getHits() {
+		return this.hits.get();
+	}
+
+	/**
+	 * Gets the number of lookups that required the message to be rendered.
+	 *
+	 * @return The number of cache misses
+	 */
+	public long getMisses() {
+		return this.misses.get();
+	}
+
+	/**
+	 * Discards all messages held by this cache. Invoked by translation storages whenever
+	 * their translations change.
+	 */
+	public void invalidate() {
+		for ( Map<RenderKey, CachedMessage> stripe : this.stripes ) {
+			synchronized ( stripe ) {
+				stripe.clear();
+			}
+		}
+	}
+
+	/**
+	 * Looks up a previously rendered message. Messages rendered in a generation of the storage
+	 * other than the given one are treated as missing, so that a message rendered concurrently
+	 * to a reload and inserted after the cache was invalidated is never returned.
+	 *
+	 * @param locale     The locale the message was translated into
+	 * @param keyHash    The hash of the message's translation key
+	 * @param args       The arguments the message was rendered with
+	 * @param generation The current generation of the storage's translations
+	 *
+	 * @return The rendered message or null if it is not cached
+	 */
+	String get( Locale locale, int keyHash, Object[] args, int generation ) {
+		RenderKey probe = this.probes.get();
+		probe.set( locale, keyHash, args );
+
+		Map<RenderKey, CachedMessage> stripe = this.stripeOf( probe );
+		CachedMessage                 entry;
+		synchronized ( stripe ) {
+			entry = stripe.get( probe );
+			if ( entry != null && ( entry.generation != generation || System.nanoTime() - entry.created > this.ttlNanos ) ) {
+				stripe.remove( probe );
+				entry = null;
+			}
+		}
+		probe.clear();
+
+		if ( entry == null ) {
+			this.misses.incrementAndGet();
+			return null;
+		}
+
+		this.hits.incrementAndGet();
+		return entry.message;
+	}
+
+	/**
+	 * Inserts a rendered message into the cache.
+	 *
+	 * @param locale     The locale the message was translated into
+	 * @param keyHash    The hash of the message's translation key
+	 * @param args       The arguments the message was rendered with
+	 * @param generation The generation of the storage's translations read before the message was rendered
+	 * @param message    The rendered message
+	 */
+	void put( Locale locale, int keyHash, Object[] args, int generation, String message ) {
+		RenderKey     key   = new RenderKey();
+		CachedMessage entry = new CachedMessage( message, generation, System.nanoTime() );
+		key.set( locale, keyHash, args.clone() );
+
+		Map<RenderKey, CachedMessage> stripe = this.stripeOf( key );
+		synchronized ( stripe ) {
+			stripe.put( key, entry );
+		}
+	}
+
+	private Map<RenderKey, CachedMessage> stripeOf( RenderKey key ) {
+		int hash = key.hash;
+		return this.stripes[( hash ^ ( hash >>> 16 ) ) & this.stripeMask];
+	}
+
+	/**
+	 * Checks whether or not a message rendered with the given arguments may be cached.
+	 *
+	 * @param args The arguments to check
+	 *
+	 * @return Whether or not all arguments are immutable values
+	 */
+	static boolean isCacheable( Object[] args ) {
+		for ( Object arg : args ) {
+			if ( !( arg instanceof String ||
+			        arg instanceof Integer ||
+			        arg instanceof Long ||
+			        arg instanceof Double ||
+			        arg instanceof Float ||
+			        arg instanceof Short ||
+			        arg instanceof Byte ||
+			        arg instanceof Character ||
+			        arg instanceof Boolean ||
+			        arg instanceof Enum ||
+			        arg instanceof UUID ||
+			        arg instanceof Locale ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Key of a rendered message.
+	 */
+	private static final class RenderKey {
+
+		private Locale   locale;
+		private int      keyHash;
+		private Object[] args;
+		private int      hash;
+
+		private void set( Locale locale, int keyHash, Object[] args ) {
+			this.locale = locale;
+			this.keyHash = keyHash;
+			this.args = args;
+
+			int hash = keyHash;
+			hash = 31 * hash + locale.hashCode();
+			for ( Object arg : args ) {
+				hash = 31 * hash + arg.hashCode();
+			}
+			this.hash = hash;
+		}
+
+		private void clear() {
+			this.locale = null;
+			this.args = null;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals( Object o ) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof RenderKey ) ) {
+				return false;
+			}
+
+			RenderKey other = (RenderKey) o;
+			if ( this.hash != other.hash || this.keyHash != other.keyHash || this.args.length != other.args.length || !this.locale.equals( other.locale ) ) {
+				return false;
+			}
+
+			for ( int i = 0; i < this.args.length; ++i ) {
+				// Require identical argument types so that e.g. 1 and 1L are not mixed up:
+				if ( this.args[i].getClass() != other.args[i].getClass() || !this.args[i].equals( other.args[i] ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	/**
+	 * A rendered message along with the storage generation and the time it was rendered in.
+	 */
+	private static final class CachedMessage {
+
+		private final String message;
+		private final int    generation;
+		private final long   created;
+
+		private CachedMessage( String message, int generation, long created ) {
+			this.message = message;
+			this.generation = generation;
+			this.created = created;
+		}
+
+	}
+
+}
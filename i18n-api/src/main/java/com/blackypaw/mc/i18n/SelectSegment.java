@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+/**
+ * Template segment which chooses one of several branches by comparing the string
+ * representation of an argument against the branches' selectors. If no selector
+ * matches the 'other' branch gets rendered.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+class SelectSegment extends TemplateSegment {
+
+	private final int               index;
+	private final String            placeholder;
+	private final String[]          selectors;
+	private final int[]             selectorHashes;
+	private final MessageTemplate[] branches;
+	private final MessageTemplate   other;
+
+	SelectSegment( int index, String placeholder, String[] selectors, MessageTemplate[] branches, MessageTemplate other ) {
+		this.index = index;
+		this.placeholder = placeholder;
+		this.selectors = selectors;
+		this.branches = branches;
+		this.other = other;
+
+		this.selectorHashes = new int[selectors.length];
+		for ( int i = 0; i < selectors.length; ++i ) {
+			this.selectorHashes[i] = selectors[i].hashCode();
+		}
+	}
+
+	@Override
+	void render( StringBuilder out, Object[] args ) {
+		if ( this.index >= args.length ) {
+			out.append( this.placeholder );
+			return;
+		}
+		this.selectBranch( String.valueOf( argument( args, this.index ) ) ).append( out, args );
+	}
+
+	@Override
+	void render( StringBuilder out, long value ) {
+		if ( this.index != 0 ) {
+			out.append( this.placeholder );
+			return;
+		}
+		this.selectBranch( Long.toString( value ) ).append( out, value );
+	}
+
+	@Override
+	void render( StringBuilder out, double value ) {
+		if ( this.index != 0 ) {
+			out.append( this.placeholder );
+			return;
+		}
+		this.selectBranch( Double.toString( value ) ).append( out, value );
+	}
+
+	@Override
+	void render( StringBuilder out, CharSequence value ) {
+		if ( this.index != 0 ) {
+			out.append( this.placeholder );
+			return;
+		}
+		this.selectBranch( String.valueOf( value ) ).append( out, value );
+	}
+
+	@Override
+	int getLengthHint() {
+		return this.other.getSource().length();
+	}
+
+	/**
+	 * Selects the branch to render for the given selector value.
+	 *
+	 * @param value The string representation of the argument
+	 *
+	 * @return The branch to render
+	 */
+	private MessageTemplate selectBranch( String value ) {
+		int hash = value.hashCode();
+		for ( int i = 0; i < this.selectors.length; ++i ) {
+			if ( this.selectorHashes[i] == hash && this.selectors[i].equals( value ) ) {
+				return this.branches[i];
+			}
+		}
+		return this.other;
+	}
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+/**
+ * Interface used for converting translated messages into a platform specific representation
+ * such as a chat component's JSON. Encoded forms of translations which do not take any arguments
+ * are cached by their templates (see {@link MessageTemplate#encode(TemplateEncoder)}) so that the
+ * conversion only happens once per locale.
+ * <p>
+ * Encoders are compared by identity when looking up cached forms and should therefore be
+ * kept as singletons.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public interface TemplateEncoder<T> {
+
+	/**
+	 * Encodes the given translated message. This method must be thread-safe and the value it
+	 * returns must be safe to be shared across threads.
+	 *
+	 * @param message The translated message to encode
+	 *
+	 * @return The encoded message
+	 */
+	T encode( String message );
+
+}
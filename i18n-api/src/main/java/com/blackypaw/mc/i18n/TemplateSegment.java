@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.function.Supplier;
+
+/**
+ * A single piece of a compiled {@link MessageTemplate}. Segments are immutable and
+ * are rendered one after another into the output buffer.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+abstract class TemplateSegment {
+
+	/**
+	 * Renders this segment into the given buffer.
+	 *
+	 * @param out  The buffer to render into
+	 * @param args The arguments the template is rendered with
+	 */
+	abstract void render( StringBuilder out, Object[] args );
+
+	/**
+	 * Renders this segment into the given buffer using a single integral value as the
+	 * first and only argument.
+	 *
+	 * @param out   The buffer to render into
+	 * @param value The value of the first argument
+	 */
+	abstract void render( StringBuilder out, long value );
+
+	/**
+	 * Renders this segment into the given buffer using a single floating point value as
+	 * the first and only argument.
+	 *
+	 * @param out   The buffer to render into
+	 * @param value The value of the first argument
+	 */
+	abstract void render( StringBuilder out, double value );
+
+	/**
+	 * Renders this segment into the given buffer using a single character sequence as
+	 * the first and only argument.
+	 *
+	 * @param out   The buffer to render into
+	 * @param value The value of the first argument
+	 */
+	abstract void render( StringBuilder out, CharSequence value );
+
+	/**
+	 * Gets the number of characters this segment is expected to produce at minimum.
+	 * Used for presizing output buffers.
+	 *
+	 * @return The expected minimum length of this segment's output
+	 */
+	abstract int getLengthHint();
+
+	/**
+	 * Gets the value of the argument at the given index. Arguments given as a {@link Supplier}
+	 * are evaluated on first access and replaced by their value so that every supplier gets
+	 * invoked at most once per render. The arguments array must therefore never be the array
+	 * handed in by the caller if it contains any suppliers (see {@link MessageTemplate#renderTo(StringBuilder, Object...)}).
+	 *
+	 * @param args  The arguments the template is rendered with
+	 * @param index The index of the argument to get
+	 *
+	 * @return The value of the argument
+	 */
+	static Object argument( Object[] args, int index ) {
+		Object arg = args[index];
+		if ( arg instanceof Supplier ) {
+			arg = ( (Supplier<?>) arg ).get();
+			args[index] = arg;
+		}
+		return arg;
+	}
+
+}
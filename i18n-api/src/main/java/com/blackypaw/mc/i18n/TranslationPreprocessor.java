@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+/**
+ * Interface used for transforming translations once when they are loaded, e.g. in order to
+ * convert alternate color codes into actual formatting codes. The transformed translation is
+ * what gets compiled and rendered, so any work done by a preprocessor is never repeated when
+ * messages are translated. See {@link PropertyTranslationStorage#setPreprocessor(TranslationPreprocessor)}
+ * for further details on this topic.
+ * <p>
+ * Preprocessors are invoked on raw translations before translation references and placeholders
+ * are resolved and must therefore keep braces intact.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public interface TranslationPreprocessor {
+
+	/**
+	 * Transforms the given raw translation. This method must be thread-safe.
+	 *
+	 * @param translation The raw translation to transform
+	 *
+	 * @return The transformed translation
+	 */
+	String preprocess( String translation );
+
+}
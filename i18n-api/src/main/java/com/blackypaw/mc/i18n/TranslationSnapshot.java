@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable state of a {@link TranslationStorageAdapter}: the ids of all keys loaded, the
+ * languages loaded and the merged tables used for looking up translations. The storage
+ * publishes its state through a single volatile reference to a snapshot and replaces the
+ * snapshot as a whole whenever languages are loaded or unloaded, so readers never need to
+ * lock and never observe a language which has been loaded only partially.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+final class TranslationSnapshot {
+
+	static final TranslationSnapshot EMPTY = new TranslationSnapshot( KeyRegistry.EMPTY, Collections.<Locale, LanguageTable>emptyMap(), Collections.<Locale, LanguageTable>emptyMap(), Collections.<Locale, LanguageTable>emptyMap() );
+
+	/**
+	 * Ids of all translation keys loaded so far, shared by all languages.
+	 */
+	final KeyRegistry keys;
+
+	/**
+	 * The translations of all languages loaded by their locale.
+	 */
+	final Map<Locale, LanguageTable> languages;
+
+	/**
+	 * The tables of all languages loaded with the translations inherited along their fallback
+	 * chains merged in.
+	 */
+	final Map<Locale, LanguageTable> merged;
+
+	/**
+	 * The tables of locales which have not been loaded themselves, merged on demand from the
+	 * loaded languages of their fallback chains. Locales inheriting nothing at all are mapped to
+	 * a sentinel table of the storage so that looking them up again does not need to lock either.
+	 */
+	final Map<Locale, LanguageTable> inherited;
+
+	/**
+	 * Constructs a new snapshot. The given maps must not be modified afterwards.
+	 *
+	 * @param keys      The ids of all translation keys loaded so far
+	 * @param languages The translations of all languages loaded
+	 * @param merged    The merged tables of all languages loaded
+	 * @param inherited The tables of locales merged on demand
+	 */
+	TranslationSnapshot( KeyRegistry keys, Map<Locale, LanguageTable> languages, Map<Locale, LanguageTable> merged, Map<Locale, LanguageTable> inherited ) {
+		this.keys = keys;
+		this.languages = Collections.unmodifiableMap( languages );
+		this.merged = Collections.unmodifiableMap( merged );
+		this.inherited = Collections.unmodifiableMap( inherited );
+	}
+
+}
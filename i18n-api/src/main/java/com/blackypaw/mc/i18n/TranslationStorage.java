@@ -10,6 +10,9 @@ package com.blackypaw.mc.i18n;
 import java.io.IOException;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * TranslationStorages function as lookup tables for actual translation strings in different
@@ -32,6 +35,21 @@ public abstract class TranslationStorage {
 	 */
 	protected final boolean lazyLoad;
 
+	/**
+	 * Optional cache of rendered messages consulted before rendering any message.
+	 */
+	private volatile RenderCache renderCache;
+
+	/**
+	 * Layouts of named arguments registered for individual translation keys.
+	 */
+	private final ConcurrentMap<Integer, ArgumentLayout> layouts = new ConcurrentHashMap<>();
+
+	/**
+	 * Generation of the translations, advanced whenever translations change.
+	 */
+	private final AtomicInteger generation = new AtomicInteger( 0 );
+
 	/**
 	 * Constructs a new translation storage. If lazyLoad is set to true the translation
 	 * storage is allowed to load translations if they are requested but not yet loaded.
@@ -53,6 +71,29 @@ public abstract class TranslationStorage {
 		return this.lazyLoad;
 	}
 
+	/**
+	 * Puts a render cache in front of this translation storage. All messages translated via
+	 * {@link #translate(Locale, int, Object...)} and {@link #translate(Locale, String, Object...)}
+	 * will be looked up inside the cache before they get rendered. Passing null removes any
+	 * render cache previously set.
+	 * <p>
+	 * The render cache will be invalidated whenever translations of this storage change.
+	 *
+	 * @param renderCache The render cache to use or null
+	 */
+	public void setRenderCache( RenderCache renderCache ) {
+		this.renderCache = renderCache;
+	}
+
+	/**
+	 * Gets the render cache put in front of this translation storage if any.
+	 *
+	 * @return The render cache of this translation storage or null if none is set
+	 */
+	public RenderCache getRenderCache() {
+		return this.renderCache;
+	}
+
 	/**
 	 * Attempts to load the language represented by the given locale. If no translation
 	 * exists for the requested language or the translation could not be loaded an
@@ -97,6 +138,8 @@ public abstract class TranslationStorage {
 	 * The given arguments will replace special identifiers inside the actual translation.
 	 * The first argument will replace {0}, the second one will replace {1} and so on.
 	 * Arguments are converted into strings via their {@link Object#toString()} method.
+	 * Arguments which are costly to compute may be given as a {@link java.util.function.Supplier}
+	 * which will only be invoked if the translation actually references it.
 	 * <p>
 	 * If the translation fails for some reason, the function will still return a valid string
 	 * which will be no longer than 16 characters so that it won't cause any troubles with
@@ -113,15 +156,7 @@ public abstract class TranslationStorage {
 	 * @return The translated string
 	 */
 	public String translate( Locale locale, String key, Object... args ) {
-		String translation = this.getRawTranslation( locale, key );
-
-		if ( args.length > 0 ) {
-			for ( int i = 0; i < args.length; ++i ) {
-				translation = translation.replaceAll( "\\{" + i + "\\}", args[i].toString() );
-			}
-		}
-
-		return translation;
+		return this.translate( locale, FNVHash.hash1a32( key ), args );
 	}
 
 	/**
@@ -134,17 +169,287 @@ public abstract class TranslationStorage {
 	 * @return The translated string
 	 */
 	public String translate( Locale locale, int keyHash, Object... args ) {
-		String translation = this.getRawTranslation( locale, keyHash );
+		RenderCache cache = this.renderCache;
+		if ( cache == null || args.length == 0 || !RenderCache.isCacheable( args ) ) {
+			return this.getTemplate( locale, keyHash ).render( args );
+		}
 
-		if ( args.length > 0 ) {
-			for ( int i = 0; i < args.length; ++i ) {
-				translation = translation.replaceAll( "\\{" + i + "\\}", args[i].toString() );
+		// Read the generation before rendering so that a message rendered concurrently
+		// to a reload is never served once the reload has finished:
+		int    generation = this.getGeneration();
+		String message    = cache.get( locale, keyHash, args, generation );
+		if ( message == null ) {
+			message = this.getTemplate( locale, keyHash ).render( args );
+			if ( this.getGeneration() == generation ) {
+				cache.put( locale, keyHash, args, generation, message );
 			}
 		}
+		return message;
+	}
+
+	/**
+	 * Translates a message which takes a single integral argument. Behaves exactly like
+	 * {@link #translate(Locale, int, Object...)} but neither requires an argument array
+	 * to be allocated nor the value to be boxed. Integer arguments are widened to long.
+	 *
+	 * @param locale  The language to translate into
+	 * @param keyHash The translation key of the message to be translated
+	 * @param arg     The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translate( Locale locale, int keyHash, long arg ) {
+		return this.getTemplate( locale, keyHash ).render( arg );
+	}
+
+	/**
+	 * See {@link #translate(Locale, int, long)}.
+	 *
+	 * @param locale  The language to translate into
+	 * @param keyHash The translation key of the message to be translated
+	 * @param arg     The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translate( Locale locale, int keyHash, double arg ) {
+		return this.getTemplate( locale, keyHash ).render( arg );
+	}
+
+	/**
+	 * See {@link #translate(Locale, int, long)}.
+	 *
+	 * @param locale  The language to translate into
+	 * @param keyHash The translation key of the message to be translated
+	 * @param arg     The argument to be inserted into the translation
+	 *
+	 * @return The translated string
+	 */
+	public String translate( Locale locale, int keyHash, CharSequence arg ) {
+		return this.getTemplate( locale, keyHash ).render( arg );
+	}
+
+	/**
+	 * Translates a message directly into the given buffer. Behaves exactly like
+	 * {@link #translate(Locale, int, Object...)} but does not create an intermediate string
+	 * which makes it suitable for assembling larger messages in a reused buffer.
+	 *
+	 * @param out     The buffer to append the translated message to
+	 * @param locale  The language to translate into
+	 * @param keyHash The translation key of the message to be translated
+	 * @param args    Optional arguments to be inserted into the translation
+	 */
+	public void translateTo( StringBuilder out, Locale locale, int keyHash, Object... args ) {
+		this.getTemplate( locale, keyHash ).renderTo( out, args );
+	}
 
-		return translation;
+	/**
+	 * See {@link #translateTo(StringBuilder, Locale, int, Object...)}.
+	 *
+	 * @param out     The appendable to append the translated message to
+	 * @param locale  The language to translate into
+	 * @param keyHash The translation key of the message to be translated
+	 * @param args    Optional arguments to be inserted into the translation
+	 *
+	 * @throws IOException Thrown if the appendable fails to accept the translated message
+	 */
+	public void translateTo( Appendable out, Locale locale, int keyHash, Object... args ) throws IOException {
+		this.getTemplate( locale, keyHash ).renderTo( out, args );
 	}
 
+	/**
+	 * Translates a message and fits it into the given number of characters without splitting
+	 * any formatting codes, e.g. for scoreboards. The fitted forms of translations without any
+	 * arguments are cached per length until the translation gets reloaded, see
+	 * {@link MessageTemplate#renderFitted(int, Object...)}.
+	 *
+	 * @param locale    The language to translate into
+	 * @param keyHash   The hash value of the translation key of the message to be translated
+	 * @param maxLength The maximum number of characters the translation may take up
+	 * @param args      Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated and fitted string
+	 */
+	public String translateFitted( Locale locale, int keyHash, int maxLength, Object... args ) {
+		return this.getTemplate( locale, keyHash ).renderFitted( maxLength, args );
+	}
+
+	/**
+	 * Translates a message and centers it within the given width in pixels, e.g. for headlines
+	 * in chat (see {@link GlyphWidths#CHAT_WIDTH}). The widths of translations without any
+	 * arguments are measured once and cached until the translation gets reloaded, see
+	 * {@link MessageTemplate#renderCentered(int, Object...)}.
+	 *
+	 * @param locale  The language to translate into
+	 * @param keyHash The hash value of the translation key of the message to be translated
+	 * @param width   The width in pixels to center the translation within
+	 * @param args    Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated and centered string
+	 */
+	public String translateCentered( Locale locale, int keyHash, int width, Object... args ) {
+		return this.getTemplate( locale, keyHash ).renderCentered( width, args );
+	}
+
+	/**
+	 * Translates a message and pads it with trailing spaces to the given width in pixels, e.g.
+	 * for aligning columns. The widths of translations without any arguments are measured once
+	 * and cached until the translation gets reloaded, see
+	 * {@link MessageTemplate#renderPadded(int, Object...)}.
+	 *
+	 * @param locale  The language to translate into
+	 * @param keyHash The hash value of the translation key of the message to be translated
+	 * @param width   The width in pixels to pad the translation to
+	 * @param args    Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated and padded string
+	 */
+	public String translatePadded( Locale locale, int keyHash, int width, Object... args ) {
+		return this.getTemplate( locale, keyHash ).renderPadded( width, args );
+	}
+
+	/**
+	 * Translates a message and encodes it using the given encoder. The encoded forms of
+	 * translations without any arguments are cached until the translation gets reloaded, see
+	 * {@link MessageTemplate#encode(TemplateEncoder)}.
+	 *
+	 * @param locale  The language to translate into
+	 * @param keyHash The hash value of the translation key of the message to be translated
+	 * @param encoder The encoder to use
+	 * @param <T>     The type of the encoded form
+	 *
+	 * @return The encoded translation
+	 */
+	public <T> T translateEncoded( Locale locale, int keyHash, TemplateEncoder<T> encoder ) {
+		return this.getTemplate( locale, keyHash ).encode( encoder );
+	}
+
+	/**
+	 * Checks whether or not a translation of the given key is available for the given locale,
+	 * either in the language itself or in the fallback locale.
+	 *
+	 * @param locale The locale to check
+	 * @param key    The translation key to check
+	 *
+	 * @return Whether or not a translation of the key is available
+	 */
+	public boolean hasTranslation( Locale locale, String key ) {
+		return this.hasTranslation( locale, FNVHash.hash1a32( key ) );
+	}
+
+	/**
+	 * See {@link #hasTranslation(Locale, String)}. The default implementation looks up the
+	 * translation and checks whether it is one of the special strings documented in
+	 * {@link #translate(Locale, String, Object...)}.
+	 *
+	 * @param locale  The locale to check
+	 * @param keyHash The hash value of the translation key to check
+	 *
+	 * @return Whether or not a translation of the key is available
+	 */
+	public boolean hasTranslation( Locale locale, int keyHash ) {
+		String source = this.getTemplate( locale, keyHash ).getSource();
+		return !( ELOCNL.equals( source ) || ENOTRANS.equals( source ) );
+	}
+
+	/**
+	 * Registers the layout of named arguments of a translation key. Translations of the key
+	 * will have their named placeholders compiled into the slots given by the layout. Any
+	 * layout previously registered for the same key will be replaced.
+	 *
+	 * @param layout The layout to register
+	 */
+	public void registerArgumentLayout( ArgumentLayout layout ) {
+		this.putArgumentLayout( layout );
+		this.invalidateCaches();
+	}
+
+	/**
+	 * Stores the layout of named arguments of a translation key without invalidating any
+	 * caches. Intended for implementations which recompile the key's translations before
+	 * invalidating caches themselves.
+	 *
+	 * @param layout The layout to store
+	 */
+	void putArgumentLayout( ArgumentLayout layout ) {
+		this.layouts.put( layout.getKeyHash(), layout );
+	}
+
+	/**
+	 * Gets the names of the arguments of the given translation key if a layout has been
+	 * registered for it.
+	 *
+	 * @param keyHash The hash value of the translation key
+	 *
+	 * @return The names of the key's arguments or null if the key has got no layout
+	 */
+	protected String[] getArgumentNames( int keyHash ) {
+		ArgumentLayout layout = this.layouts.get( keyHash );
+		return ( layout != null ? layout.getNames() : null );
+	}
+
+	/**
+	 * Gets the generation of this storage's translations. The generation changes whenever
+	 * translations have been loaded or changed and allows for caching templates outside
+	 * of the storage, see {@link KeyHandle}.
+	 *
+	 * @return The generation of this storage's translations
+	 */
+	int getGeneration() {
+		return this.generation.get();
+	}
+
+	/**
+	 * Discards all messages held by the render cache of this storage, if any, and advances the
+	 * storage's generation so that templates cached by key handles get looked up again. Must be
+	 * invoked by implementations whenever translations have been loaded or changed.
+	 */
+	protected void invalidateCaches() {
+		this.generation.incrementAndGet();
+
+		RenderCache cache = this.renderCache;
+		if ( cache != null ) {
+			cache.invalidate();
+		}
+	}
+
+	/**
+	 * Gets the compiled template of the given translation key for the specified locale or
+	 * compiles the given default pattern if the storage holds no translation of the key.
+	 * Intended for built-in patterns translators may but need not provide.
+	 *
+	 * @param locale         The locale to translate into
+	 * @param key            The translation key of the pattern
+	 * @param defaultPattern The pattern to use if no translation is available
+	 *
+	 * @return The compiled template of the translation or the default pattern
+	 */
+	MessageTemplate getTemplateOrDefault( Locale locale, String key, String defaultPattern ) {
+		MessageTemplate template = this.getTemplate( locale, FNVHash.hash1a32( key ) );
+		String          source   = template.getSource();
+		if ( ELOCNL.equals( source ) || ENOTRANS.equals( source ) ) {
+			return MessageTemplate.compile( locale, defaultPattern );
+		}
+		return template;
+	}
+
+	/**
+	 * Gets the compiled template of the given translation key for the specified locale.
+	 * The default implementation compiles the raw translation on every invocation; implementations
+	 * are encouraged to compile their translations once when they are loaded and override this
+	 * method accordingly.
+	 * <p>
+	 * May return templates of the special strings documented in {@link #translate(Locale, String, Object...)}.
+	 *
+	 * @param locale  The locale to translate into
+	 * @param keyHash The hash value of the translation key of the message to be translated.
+	 *
+	 * @return The compiled template of the given translation key for the specified locale
+	 */
+	protected MessageTemplate getTemplate( Locale locale, int keyHash ) {
+		String[] names = this.getArgumentNames( keyHash );
+		String   raw   = this.getRawTranslation( locale, keyHash );
+		return ( names != null ? MessageTemplate.compile( locale, raw, names ) : MessageTemplate.compile( locale, raw ) );
+	}
 
 	/**
 	 * Gets the raw translation of the given translation key for the specified locale.
@@ -8,40 +8,331 @@
 package com.blackypaw.mc.i18n;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Adapter class for simplifying translation storage implementations. Classes
  * derived from this adapter class will always ship with support for lazy-loading
  * and full fallback locale support.
+ * <p>
+ * Translations may refer to other translations of the same language by including their
+ * translation key like {&#64;server.name}. All such references are resolved transitively
+ * once when a language is loaded so that looking up a translation never requires any
+ * further resolution. References to keys missing in the language itself are resolved
+ * against its fallback chain, which is loaded beforehand if lazy loading is allowed, and
+ * resolved again whenever a language of the chain gets loaded or unloaded; references that
+ * cannot be resolved at all are kept as-is.
+ * <p>
+ * Every language falls back to the locales of its fallback chain, e.g. pt_BR to pt and then
+ * to the I18N instance's fallback locale, see {@link #setFallbackChain(Locale, Locale...)}.
+ * The translations inherited along the chain are merged into a table of the language itself
+ * whenever a language of the chain gets loaded, so that a lookup takes a single probe no
+ * matter how deep the chain is.
+ * <p>
+ * All loaded state is held in an immutable {@link TranslationSnapshot} which is replaced as a
+ * whole on every load, so translations may be looked up from any thread without locking.
  *
  * @author BlackyPaw
  * @version 1.0
  */
 abstract class TranslationStorageAdapter extends TranslationStorage {
 	
+	private static final MessageTemplate ELOCNL_TEMPLATE   = MessageTemplate.literal( TranslationStorage.ELOCNL );
+	private static final MessageTemplate ENOTRANS_TEMPLATE = MessageTemplate.literal( TranslationStorage.ENOTRANS );
+	
+	private static final long DEFAULT_MISSING_LOCALE_TTL = TimeUnit.MINUTES.toNanos( 5L );
+	
+	/**
+	 * Sentinel table of locales for which neither the language itself nor any of its fallbacks
+	 * are available.
+	 */
+	private static final LanguageTable UNAVAILABLE = new LanguageTable( 0 );
+	
 	protected final I18N i18n;
-	protected Map<Locale, Map<Integer, String>> translations;
+	
+	/**
+	 * The current state of this storage. Replaced as a whole while holding the write lock
+	 * whenever languages get loaded or unloaded; readers merely read the reference once.
+	 */
+	private volatile TranslationSnapshot snapshot;
+	private final Object                 writeLock;
+	
+	/**
+	 * The raw translations of all loaded languages referring to keys they do not hold themselves.
+	 * Kept in order to resolve their references again once their fallback chain changes. Guarded
+	 * by the write lock.
+	 */
+	private final Map<Locale, LanguageSource> sources;
+	
+	/**
+	 * The locales of all languages currently being loaded by the respective thread. Loading a
+	 * language loads its fallback chain first; languages already being loaded further up the
+	 * stack are skipped so that circular chains do not recurse endlessly.
+	 */
+	private final ThreadLocal<Set<Locale>> loading = new ThreadLocal<Set<Locale>>() {
+		@Override
+		protected Set<Locale> initialValue() {
+			return new HashSet<>();
+		}
+	};
+	
+	private final ConcurrentMap<Locale, List<Locale>> fallbackChains;
+	
+	/**
+	 * Locks of the languages currently being loaded lazily, so that threads requesting the same
+	 * language concurrently load it only once.
+	 */
+	private final ConcurrentMap<Locale, ReentrantLock> lazyLoads;
+	
+	/**
+	 * Locales which could not be lazily loaded along with the time (as of System.nanoTime()) until
+	 * which they will not be attempted to be loaded again.
+	 */
+	private final ConcurrentMap<Locale, Long> missingLocales;
+	private volatile long                     missingLocaleTtl;
+	
+	private volatile TranslationPreprocessor preprocessor;
 	
 	protected TranslationStorageAdapter( I18N i18n, boolean lazyLoad ) {
 		super( lazyLoad );
 		this.i18n = i18n;
-		this.translations = new HashMap<>();
+		this.snapshot = TranslationSnapshot.EMPTY;
+		this.writeLock = new Object();
+		this.sources = new HashMap<>();
+		this.fallbackChains = new ConcurrentHashMap<>();
+		this.lazyLoads = new ConcurrentHashMap<>();
+		this.missingLocales = new ConcurrentHashMap<>();
+		this.missingLocaleTtl = DEFAULT_MISSING_LOCALE_TTL;
+	}
+	
+	/**
+	 * Sets the preprocessor all translations will be passed through once when a language gets
+	 * loaded, e.g. a {@link ColorCodePreprocessor}. Languages loaded before will not be affected
+	 * until they are reloaded. Passing null disables preprocessing which is the default.
+	 *
+	 * @param preprocessor The preprocessor to use or null
+	 */
+	public void setPreprocessor( TranslationPreprocessor preprocessor ) {
+		this.preprocessor = preprocessor;
+	}
+	
+	/**
+	 * Gets the preprocessor translations are passed through when a language gets loaded.
+	 *
+	 * @return The preprocessor in use or null if preprocessing is disabled
+	 */
+	public TranslationPreprocessor getPreprocessor() {
+		return this.preprocessor;
 	}
 	
+	/**
+	 * Sets the time for which a locale that could not be lazily loaded will not be attempted to
+	 * be loaded again. Lookups of such locales are answered from their fallback chain in the
+	 * meantime instead of accessing the storage's source on every lookup; the first lookup
+	 * after the time has passed attempts to load the locale again. File based storages also
+	 * reuse the listing of their directory for this long, but for at least one second, so a
+	 * language file added later gets picked up after at most twice this time. Defaults to five
+	 * minutes; zero makes every lookup attempt to load the locale again, which file based storages
+	 * answer from their directory listing until it is a second old.
+	 *
+	 * @param ttl  The time a missing locale is remembered for
+	 * @param unit The unit of the time
+	 */
+	public void setMissingLocaleTtl( long ttl, TimeUnit unit ) {
+		this.missingLocaleTtl = unit.toNanos( ttl );
+		this.missingLocales.clear();
+	}
+	
+	/**
+	 * Gets the time for which a locale that could not be lazily loaded will not be attempted to
+	 * be loaded again. See {@link #setMissingLocaleTtl(long, TimeUnit)}.
+	 *
+	 * @param unit The unit to return the time in
+	 *
+	 * @return The time a missing locale is remembered for
+	 */
+	public long getMissingLocaleTtl( TimeUnit unit ) {
+		return unit.convert( this.missingLocaleTtl, TimeUnit.NANOSECONDS );
+	}
+	
+	/**
+	 * Sets the fallback chain of the given locale, i.e. the locales whose translations are used
+	 * in the given order if the locale itself lacks a translation. By default the chain of a locale
+	 * is derived from its language tags, e.g. pt_BR falls back to pt. Either chain is followed by
+	 * the fallback locale of the I18N instance if enabled. Languages depending on the chain are
+	 * merged again immediately.
+	 *
+	 * @param locale    The locale to set the fallback chain of
+	 * @param fallbacks The locales to fall back to in order of precedence; none to restore the default chain
+	 */
+	public void setFallbackChain( Locale locale, Locale... fallbacks ) {
+		synchronized ( this.writeLock ) {
+			if ( fallbacks.length == 0 ) {
+				this.fallbackChains.remove( locale );
+			} else {
+				this.fallbackChains.put( locale, Collections.unmodifiableList( new ArrayList<>( Arrays.asList( fallbacks ) ) ) );
+			}
+			
+			TranslationSnapshot        current   = this.snapshot;
+			Map<Locale, LanguageTable> languages = new HashMap<>( current.languages );
+			this.resolveDependents( current.keys, languages, null );
+			this.publish( current.keys, languages, null );
+		}
+		this.invalidateCaches();
+	}
+	
+	/**
+	 * Gets the fallback chain of the given locale. See {@link #setFallbackChain(Locale, Locale...)}.
+	 *
+	 * @param locale The locale to get the fallback chain of
+	 *
+	 * @return The locales to fall back to in order of precedence
+	 */
+	public List<Locale> getFallbackChain( Locale locale ) {
+		List<Locale> explicit = this.fallbackChains.get( locale );
+		List<Locale> chain    = new ArrayList<>( 3 );
+		if ( explicit != null ) {
+			chain.addAll( explicit );
+		} else {
+			if ( !locale.getVariant().isEmpty() ) {
+				chain.add( new Locale( locale.getLanguage(), locale.getCountry() ) );
+			}
+			if ( !locale.getCountry().isEmpty() ) {
+				chain.add( new Locale( locale.getLanguage() ) );
+			}
+		}
+		
+		Locale fallbackLocale = this.i18n.getFallbackLocale();
+		if ( this.i18n.shouldUseFallbackLocale() && fallbackLocale != null && !fallbackLocale.equals( locale ) && !chain.contains( fallbackLocale ) ) {
+			chain.add( fallbackLocale );
+		}
+		return chain;
+	}
+	
+	/**
+	 * Loads the given translations and publishes them along with all merged tables depending
+	 * on them at once, so that concurrent readers either see the previous state of the storage
+	 * or the language fully loaded. If lazy loading is allowed the languages of the fallback
+	 * chain are loaded first, unless they have been loaded before, so that references are
+	 * resolved alike no matter in which order languages are requested.
+	 *
+	 * @param locale       The locale of the language
+	 * @param translations The translations to insert into the translation storage
+	 *
+	 * @throws IOException Thrown if the translations contain colliding keys or circular references
+	 */
 	@Override
 	public void loadLanguage( Locale locale, Map<String, String> translations ) throws IOException {
+		TranslationPreprocessor preprocessor = this.preprocessor;
+		
+		Map<Integer, String> hashedKeys         = new HashMap<>( translations.size() );
 		Map<Integer, String> hashedTranslations = new HashMap<>( translations.size() );
 		for ( Map.Entry<String, String> translation : translations.entrySet() ) {
 			int hash = FNVHash.hash1a32( translation.getKey() );
 			if ( hashedTranslations.containsKey( hash ) ) {
 				throw new IOException( "Colliding hash codes for distinct translation keys: '" + translation.getKey() + "'" );
 			}
-			hashedTranslations.put( hash, translation.getValue() );
+			hashedKeys.put( hash, translation.getKey() );
+			hashedTranslations.put( hash, ( preprocessor != null ? preprocessor.preprocess( translation.getValue() ) : translation.getValue() ) );
+		}
+		LanguageSource source = new LanguageSource( hashedKeys, hashedTranslations );
+		
+		if ( this.lazyLoad ) {
+			Set<Locale> loading = this.loading.get();
+			loading.add( locale );
+			try {
+				this.loadFallbacks( locale );
+			} finally {
+				loading.remove( locale );
+			}
+		}
+		
+		synchronized ( this.writeLock ) {
+			TranslationSnapshot        current   = this.snapshot;
+			KeyRegistry                keys      = current.keys.register( hashedTranslations.keySet() );
+			Map<Locale, LanguageTable> languages = new HashMap<>( current.languages );
+			languages.put( locale, this.compileLanguage( locale, keys, source, languages ) );
+			
+			if ( source.hasExternalReferences() ) {
+				this.sources.put( locale, source );
+			} else {
+				this.sources.remove( locale );
+			}
+			this.publish( keys, languages, this.resolveDependents( keys, languages, locale ) );
 		}
-		this.translations.put( locale, hashedTranslations );
+		this.missingLocales.remove( locale );
+		this.invalidateCaches();
+	}
+	
+	/**
+	 * Unloads the given language so that it will no longer be used for translating, neither
+	 * directly nor as part of a fallback chain.
+	 *
+	 * @param locale The locale of the language to unload
+	 */
+	protected void unloadLanguage( Locale locale ) {
+		synchronized ( this.writeLock ) {
+			TranslationSnapshot current = this.snapshot;
+			if ( !current.languages.containsKey( locale ) ) {
+				return;
+			}
+			
+			Map<Locale, LanguageTable> languages = new HashMap<>( current.languages );
+			languages.remove( locale );
+			this.sources.remove( locale );
+			this.publish( current.keys, languages, this.resolveDependents( current.keys, languages, locale ) );
+		}
+		this.invalidateCaches();
+	}
+	
+	@Override
+	public void registerArgumentLayout( ArgumentLayout layout ) {
+		this.putArgumentLayout( layout );
+		
+		synchronized ( this.writeLock ) {
+			TranslationSnapshot current = this.snapshot;
+			
+			// Recompile the key in all languages loaded so far:
+			int                        hash      = layout.getKeyHash();
+			int                        id        = current.keys.idOf( hash );
+			Map<Locale, LanguageTable> languages = new HashMap<>( current.languages );
+			for ( Map.Entry<Locale, LanguageTable> language : languages.entrySet() ) {
+				MessageTemplate template = language.getValue().get( id );
+				if ( template != null ) {
+					language.setValue( language.getValue().with( id, this.compile( language.getKey(), hash, template.getSource() ) ) );
+				}
+			}
+			this.publish( current.keys, languages, null );
+		}
+		this.invalidateCaches();
+	}
+	
+	/**
+	 * Checks for a translation by testing the bit of the key in the language's merged table
+	 * which includes all translations inherited along its fallback chain.
+	 *
+	 * @param locale  The locale to check
+	 * @param keyHash The hash value of the translation key
+	 *
+	 * @return Whether or not a translation of the key is available
+	 */
+	@Override
+	public boolean hasTranslation( Locale locale, int keyHash ) {
+		LanguageTable translation = this.getLanguage( locale );
+		// Key ids never change once assigned, thus the latest snapshot's ids apply to any table:
+		return ( translation != null && translation.contains( this.snapshot.keys.idOf( keyHash ) ) );
 	}
 	
 	@Override
@@ -51,54 +342,444 @@ abstract class TranslationStorageAdapter extends TranslationStorage {
 	
 	@Override
 	protected String getRawTranslation( Locale locale, int keyHash ) {
-		Map<Integer, String> translation = this.translations.get( locale );
-		
+		return this.getTemplate( locale, keyHash ).getSource();
+	}
+	
+	@Override
+	protected MessageTemplate getTemplate( Locale locale, int keyHash ) {
+		LanguageTable translation = this.getLanguage( locale );
 		if ( translation == null ) {
-			if ( this.lazyLoad ) {
+			// Neither the locale nor any of its fallbacks are available:
+			return ( this.lazyLoad ? ENOTRANS_TEMPLATE : ELOCNL_TEMPLATE );
+		}
+		
+		// Key ids never change once assigned, thus the latest snapshot's ids apply to any table:
+		MessageTemplate template = translation.get( this.snapshot.keys.idOf( keyHash ) );
+		if ( template == null ) {
+			// No translation available:
+			return ENOTRANS_TEMPLATE;
+		}
+		return template;
+	}
+	
+	/**
+	 * Gets the merged table of the given language holding its own translations along with all
+	 * translations inherited along its fallback chain. Languages which have not been loaded are
+	 * loaded first if lazy loading is allowed; if they cannot be loaded their table consists of
+	 * the inherited translations only. With lazy loading such a table is only used for as long
+	 * as the locale is remembered as missing, see {@link #setMissingLocaleTtl(long, TimeUnit)},
+	 * after which loading the language is attempted again.
+	 * <p>
+	 * Lookups only ever read the current snapshot. The write lock is merely taken in order to
+	 * publish the table of a locale looked up for the first time.
+	 *
+	 * @param locale The locale of the language
+	 *
+	 * @return The merged table of the language or null if neither the language nor any of its fallbacks are available
+	 */
+	private LanguageTable getLanguage( Locale locale ) {
+		TranslationSnapshot snapshot    = this.snapshot;
+		LanguageTable       translation = snapshot.merged.get( locale );
+		if ( translation != null ) {
+			return translation;
+		}
+		
+		translation = snapshot.inherited.get( locale );
+		if ( translation != null && ( !this.lazyLoad || this.isKnownMissing( locale ) ) ) {
+			return ( translation != UNAVAILABLE ? translation : null );
+		}
+		
+		if ( this.lazyLoad ) {
+			this.tryLoadLanguage( locale, true );
+			
+			snapshot = this.snapshot;
+			translation = snapshot.merged.get( locale );
+			if ( translation != null ) {
+				return translation;
+			}
+			
+			// Answer lookups of the missing language from its fallback chain:
+			this.loadFallbacks( locale );
+		}
+		
+		synchronized ( this.writeLock ) {
+			TranslationSnapshot current = this.snapshot;
+			translation = current.merged.get( locale );
+			if ( translation == null ) {
+				translation = current.inherited.get( locale );
+			}
+			if ( translation == null ) {
+				translation = this.mergeChain( current.languages, this.getFallbackChain( locale ) );
+				if ( translation == null ) {
+					translation = UNAVAILABLE;
+				}
+				
+				Map<Locale, LanguageTable> inherited = new HashMap<>( current.inherited );
+				inherited.put( locale, translation );
+				this.snapshot = new TranslationSnapshot( current.keys, current.languages, current.merged, inherited );
+			}
+		}
+		return ( translation != UNAVAILABLE ? translation : null );
+	}
+	
+	/**
+	 * Checks whether or not the given language is known to be available before attempting to lazily
+	 * load it. Languages reported as unavailable are not attempted to be loaded and are remembered
+	 * as missing, see {@link #setMissingLocaleTtl(long, TimeUnit)}. The default implementation
+	 * always returns true; implementations are encouraged to answer this method without accessing
+	 * their source, e.g. from an index of the files available.
+	 *
+	 * @param locale The locale of the language
+	 *
+	 * @return Whether or not the language may be available
+	 */
+	protected boolean isLanguageAvailable( Locale locale ) {
+		return true;
+	}
+	
+	/**
+	 * Attempts to lazily load the given language unless it has been loaded already or is known
+	 * to be missing. Languages which cannot be loaded are remembered as missing. Only one thread
+	 * at a time loads a language lazily.
+	 *
+	 * @param locale The locale of the language
+	 * @param wait   Whether to wait for another thread loading the language or to return immediately
+	 */
+	private void tryLoadLanguage( Locale locale, boolean wait ) {
+		ReentrantLock lock     = new ReentrantLock();
+		ReentrantLock previous = this.lazyLoads.putIfAbsent( locale, lock );
+		if ( previous != null ) {
+			lock = previous;
+		}
+		
+		// Never wait while loading a fallback as two threads loading languages falling back to
+		// each other would otherwise deadlock; the language will be resolved again once the
+		// other thread has loaded its fallback, see resolveDependents:
+		if ( wait ) {
+			lock.lock();
+		} else if ( !lock.tryLock() ) {
+			return;
+		}
+		try {
+			if ( this.snapshot.languages.containsKey( locale ) || this.isKnownMissing( locale ) ) {
+				return;
+			}
+			
+			if ( this.isLanguageAvailable( locale ) ) {
 				try {
 					this.loadLanguage( locale );
+					return;
 				} catch ( IOException ignored ) {
 					// Ignored - returned string will indicate error anyways
 				}
-				
-				translation = this.translations.get( locale );
-				if ( translation == null ) {
-					// Last chance - maybe the fallback locale may be used:
-					if ( !this.i18n.shouldUseFallbackLocale() || ( translation = this.translations.get( this.i18n.getFallbackLocale() ) ) == null ) {
-						// No translation available:
-						return TranslationStorage.ENOTRANS;
-					}
-				}
+			}
+			if ( this.missingLocaleTtl > 0L ) {
+				this.missingLocales.put( locale, System.nanoTime() + this.missingLocaleTtl );
+			}
+		} finally {
+			lock.unlock();
+			this.lazyLoads.remove( locale, lock );
+		}
+	}
+	
+	/**
+	 * Lazily loads all languages of the given locale's fallback chain which have not been loaded
+	 * yet and are not being loaded by the current thread already.
+	 *
+	 * @param locale The locale whose fallback chain to load
+	 */
+	private void loadFallbacks( Locale locale ) {
+		Set<Locale> loading = this.loading.get();
+		for ( Locale fallback : this.getFallbackChain( locale ) ) {
+			if ( !loading.contains( fallback ) && !this.snapshot.languages.containsKey( fallback ) ) {
+				this.tryLoadLanguage( fallback, false );
+			}
+		}
+	}
+	
+	private boolean isKnownMissing( Locale locale ) {
+		Long expiry = this.missingLocales.get( locale );
+		if ( expiry == null ) {
+			return false;
+		}
+		if ( System.nanoTime() - expiry >= 0L ) {
+			this.missingLocales.remove( locale, expiry );
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Publishes a new snapshot holding the given languages. The tables of all languages depending
+	 * on the given locales are merged again, i.e. the languages themselves and all languages whose
+	 * fallback chain contains any of them; all other tables are taken over from the current
+	 * snapshot. The same applies to the tables of locales which have not been loaded themselves,
+	 * except that those depending on the given locales are dropped and merged again on demand.
+	 * Must be invoked while holding the write lock.
+	 *
+	 * @param keys      The ids of all translation keys loaded
+	 * @param languages The translations of all languages loaded
+	 * @param changed   The locales whose languages have been loaded, unloaded or resolved again or null if all languages should be merged again
+	 */
+	private void publish( KeyRegistry keys, Map<Locale, LanguageTable> languages, Set<Locale> changed ) {
+		TranslationSnapshot        current  = this.snapshot;
+		Map<Locale, LanguageTable> previous = current.merged;
+		
+		Map<Locale, LanguageTable> merged = new HashMap<>( languages.size() * 2 );
+		for ( Map.Entry<Locale, LanguageTable> language : languages.entrySet() ) {
+			Locale       locale = language.getKey();
+			List<Locale> chain  = this.getFallbackChain( locale );
+			if ( changed == null || changed.contains( locale ) || !Collections.disjoint( chain, changed ) || !previous.containsKey( locale ) ) {
+				List<LanguageTable> layers = new ArrayList<>( chain.size() + 1 );
+				layers.add( language.getValue() );
+				collectLayers( languages, chain, layers );
+				merged.put( locale, LanguageTable.merge( layers ) );
 			} else {
-				// Last chance - maybe the fallback locale may be used:
-				if ( !this.i18n.shouldUseFallbackLocale() || ( translation = this.translations.get( this.i18n.getFallbackLocale() ) ) == null ) {
-					// Locale not loaded:
-					return TranslationStorage.ELOCNL;
+				merged.put( locale, previous.get( locale ) );
+			}
+		}
+		
+		Map<Locale, LanguageTable> inherited = new HashMap<>( current.inherited.size() * 2 );
+		if ( changed != null ) {
+			for ( Map.Entry<Locale, LanguageTable> language : current.inherited.entrySet() ) {
+				Locale locale = language.getKey();
+				if ( !languages.containsKey( locale ) && !changed.contains( locale ) && Collections.disjoint( this.getFallbackChain( locale ), changed ) ) {
+					inherited.put( locale, language.getValue() );
 				}
 			}
 		}
 		
-		String raw = translation.get( keyHash );
-		if ( raw == null ) {
-			// Last chance - maybe there is a translation in the fallback locale:
-			if ( this.i18n.shouldUseFallbackLocale() && !locale.equals( this.i18n.getFallbackLocale() ) ) {
-				translation = this.translations.get( this.i18n.getFallbackLocale() );
-				if ( translation != null ) {
-					raw = translation.get( keyHash );
-					if ( raw == null ) {
-						// No translation available:
-						return TranslationStorage.ENOTRANS;
-					}
-				} else {
-					// No translation available:
-					return TranslationStorage.ENOTRANS;
+		this.snapshot = new TranslationSnapshot( keys, languages, merged, inherited );
+	}
+	
+	/**
+	 * Resolves the references of all languages depending on the given locale once more, i.e. of
+	 * all languages referring to keys they do not hold themselves whose fallback chain contains
+	 * the locale, and transitively of the languages depending on those. Must be invoked while
+	 * holding the write lock.
+	 *
+	 * @param keys      The ids of all translation keys loaded
+	 * @param languages The translations of all languages loaded; updated in place
+	 * @param changed   The locale whose language has been loaded or unloaded or null if the references of all languages should be resolved again
+	 *
+	 * @return The locales of all languages changed including the given one
+	 */
+	private Set<Locale> resolveDependents( KeyRegistry keys, Map<Locale, LanguageTable> languages, Locale changed ) {
+		Set<Locale> changedLocales = new HashSet<>();
+		Set<Locale> round          = new HashSet<>();
+		if ( changed != null ) {
+			changedLocales.add( changed );
+			round.add( changed );
+		} else {
+			for ( Locale dependent : this.sources.keySet() ) {
+				this.resolveAgain( keys, languages, dependent );
+			}
+			changedLocales.addAll( this.sources.keySet() );
+			round.addAll( this.sources.keySet() );
+		}
+		
+		// Languages may depend on each other along their chains, thus resolve them round by round;
+		// an acyclic dependency spans at most as many rounds as there are languages to resolve:
+		for ( int i = 0; i < this.sources.size() && !round.isEmpty(); ++i ) {
+			Set<Locale> next = new HashSet<>();
+			for ( Locale dependent : this.sources.keySet() ) {
+				if ( !Collections.disjoint( this.getFallbackChain( dependent ), round ) ) {
+					this.resolveAgain( keys, languages, dependent );
+					next.add( dependent );
 				}
+			}
+			changedLocales.addAll( next );
+			round = next;
+		}
+		return changedLocales;
+	}
+	
+	private void resolveAgain( KeyRegistry keys, Map<Locale, LanguageTable> languages, Locale locale ) {
+		try {
+			languages.put( locale, this.compileLanguage( locale, keys, this.sources.get( locale ), languages ) );
+		} catch ( IOException ignored ) {
+			// Cannot happen as circular references would have prevented the language from being loaded
+		}
+	}
+	
+	/**
+	 * Resolves the references of the given raw translations and compiles them into a table.
+	 *
+	 * @param locale    The locale of the language
+	 * @param keys      The ids of all translation keys including the ones of the language
+	 * @param source    The raw translations of the language
+	 * @param languages The translations of all languages loaded
+	 *
+	 * @return The compiled translations of the language
+	 *
+	 * @throws IOException Thrown if the translations contain circular references
+	 */
+	private LanguageTable compileLanguage( Locale locale, KeyRegistry keys, LanguageSource source, Map<Locale, LanguageTable> languages ) throws IOException {
+		LanguageTable inherited = this.mergeChain( languages, this.getFallbackChain( locale ) );
+		
+		Map<Integer, String> resolved             = new HashMap<>( source.translations.size() );
+		LanguageTable        compiledTranslations = new LanguageTable( keys.size() );
+		for ( Integer hash : source.translations.keySet() ) {
+			String translation = this.resolveReferences( keys, hash, source.keys, source.translations, inherited, resolved, new ArrayList<Integer>() );
+			compiledTranslations.set( keys.idOf( hash ), this.compile( locale, hash, translation ) );
+		}
+		return compiledTranslations;
+	}
+	
+	/**
+	 * Merges the tables of all loaded languages of the given fallback chain.
+	 *
+	 * @param languages The translations of all languages loaded
+	 * @param chain     The fallback chain to merge
+	 *
+	 * @return The merged table or null if none of the chain's languages have been loaded
+	 */
+	private LanguageTable mergeChain( Map<Locale, LanguageTable> languages, List<Locale> chain ) {
+		List<LanguageTable> layers = new ArrayList<>( chain.size() );
+		collectLayers( languages, chain, layers );
+		return ( layers.isEmpty() ? null : LanguageTable.merge( layers ) );
+	}
+	
+	private static void collectLayers( Map<Locale, LanguageTable> languages, List<Locale> chain, List<LanguageTable> layers ) {
+		for ( Locale fallback : chain ) {
+			LanguageTable layer = languages.get( fallback );
+			if ( layer != null ) {
+				layers.add( layer );
+			}
+		}
+	}
+	
+	/**
+	 * Resolves all references to other translations found inside the translation of the given key.
+	 *
+	 * @param ids          The ids of all translation keys including the ones of the language being loaded
+	 * @param hash         The hash of the translation key whose translation to resolve
+	 * @param keys         The translation keys of the language being loaded by their hashes
+	 * @param translations The raw translations of the language being loaded
+	 * @param inherited    The translations inherited along the language's fallback chain or null if there are none
+	 * @param resolved     The translations resolved so far
+	 * @param path         The hashes of all translations currently being resolved
+	 *
+	 * @return The translation with all references resolved
+	 *
+	 * @throws IOException Thrown if the translations contain circular references
+	 */
+	private String resolveReferences( KeyRegistry ids, Integer hash, Map<Integer, String> keys, Map<Integer, String> translations, LanguageTable inherited, Map<Integer, String> resolved, List<Integer> path ) throws IOException {
+		String translation = resolved.get( hash );
+		if ( translation != null ) {
+			return translation;
+		}
+		
+		if ( path.contains( hash ) ) {
+			StringBuilder cycle = new StringBuilder();
+			for ( int i = path.indexOf( hash ); i < path.size(); ++i ) {
+				cycle.append( keys.get( path.get( i ) ) ).append( " -> " );
+			}
+			cycle.append( keys.get( hash ) );
+			throw new IOException( "Circular translation reference: " + cycle );
+		}
+		
+		String raw = translations.get( hash );
+		int    reference = raw.indexOf( "{@" );
+		if ( reference == -1 ) {
+			// Nothing to resolve:
+			resolved.put( hash, raw );
+			return raw;
+		}
+		
+		path.add( hash );
+		
+		StringBuilder builder = new StringBuilder( raw.length() + 32 );
+		int           start   = 0;
+		while ( reference != -1 ) {
+			int end = raw.indexOf( '}', reference );
+			if ( end == -1 ) {
+				break;
+			}
+			
+			String  referencedKey  = raw.substring( reference + 2, end );
+			Integer referencedHash = FNVHash.hash1a32( referencedKey );
+			String  replacement    = null;
+			
+			if ( translations.containsKey( referencedHash ) ) {
+				replacement = this.resolveReferences( ids, referencedHash, keys, translations, inherited, resolved, path );
+			} else if ( inherited != null ) {
+				MessageTemplate template = inherited.get( ids.idOf( referencedHash ) );
+				if ( template != null ) {
+					replacement = template.getSource();
+				}
+			}
+			
+			builder.append( raw, start, reference );
+			if ( replacement != null ) {
+				builder.append( replacement );
 			} else {
-				// No translation available:
-				return TranslationStorage.ENOTRANS;
+				// Keep unresolvable references as-is:
+				builder.append( raw, reference, end + 1 );
 			}
+			
+			start = end + 1;
+			reference = raw.indexOf( "{@", start );
 		}
+		builder.append( raw, start, raw.length() );
 		
-		return raw;
+		path.remove( path.size() - 1 );
+		
+		translation = builder.toString();
+		resolved.put( hash, translation );
+		return translation;
+	}
+	
+	/**
+	 * Compiles a single translation, taking the argument layout of its key into account.
+	 *
+	 * @param locale      The locale of the translation
+	 * @param hash        The hash of the translation's key
+	 * @param translation The fully resolved translation
+	 *
+	 * @return The compiled translation
+	 */
+	private MessageTemplate compile( Locale locale, int hash, String translation ) {
+		String[] names = this.getArgumentNames( hash );
+		return ( names != null ? MessageTemplate.compile( locale, translation, names ) : MessageTemplate.compile( locale, translation ) );
 	}
+	
+	/**
+	 * The raw translations of a language, preprocessed but with their references unresolved.
+	 */
+	private static final class LanguageSource {
+		
+		private final Map<Integer, String> keys;
+		private final Map<Integer, String> translations;
+		
+		private LanguageSource( Map<Integer, String> keys, Map<Integer, String> translations ) {
+			this.keys = keys;
+			this.translations = translations;
+		}
+		
+		/**
+		 * Checks whether or not any of the translations refers to a key the language does not
+		 * hold itself, i.e. whether resolving its references depends on its fallback chain.
+		 *
+		 * @return Whether or not the language refers to keys it does not hold itself
+		 */
+		private boolean hasExternalReferences() {
+			for ( String translation : this.translations.values() ) {
+				int reference = translation.indexOf( "{@" );
+				while ( reference != -1 ) {
+					int end = translation.indexOf( '}', reference );
+					if ( end == -1 ) {
+						break;
+					}
+					if ( !this.translations.containsKey( FNVHash.hash1a32( translation.substring( reference + 2, end ) ) ) ) {
+						return true;
+					}
+					reference = translation.indexOf( "{@", end + 1 );
+				}
+			}
+			return false;
+		}
+		
+	}
+	
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public class KeyScopeTest {
+
+	@Test
+	public void appendsSeparatorToPrefix() {
+		assertEquals( "menu.", new KeyScope( null, "menu" ).getPrefix() );
+		assertEquals( "menu.", new KeyScope( null, "menu." ).getPrefix() );
+		assertEquals( "", new KeyScope( null, "" ).getPrefix() );
+		assertEquals( "menu.shop.", new KeyScope( null, "menu" ).scope( "shop" ).getPrefix() );
+	}
+
+	@Test
+	public void hashesLikeFullKeys() {
+		KeyScope scope = new KeyScope( null, "menu" );
+		assertEquals( FNVHash.hash1a32( "menu.title" ), scope.hash( "title" ) );
+		assertEquals( FNVHash.hash1a32( "menu." ), scope.hash( "" ) );
+		assertEquals( FNVHash.hash1a32( "menu.shop.buy" ), scope.scope( "shop" ).hash( new StringBuilder( "buy" ) ) );
+		assertEquals( FNVHash.hash1a32( "title" ), new KeyScope( null, "" ).hash( "title" ) );
+	}
+
+	@Test
+	public void hashesNonAsciiKeysLikeFullKeys() {
+		KeyScope scope = new KeyScope( null, "ménu" );
+		assertEquals( FNVHash.hash1a32( "ménu.größe" ), scope.hash( "größe" ) );
+		assertEquals( FNVHash.hash1a32( "ménu.€😀" ), scope.hash( "€😀" ) );
+	}
+
+	@Test
+	public void streamsHashesLikeWholeStrings() {
+		int hash = FNVHash.init1a32();
+		hash = FNVHash.update1a32( hash, "café" );
+		hash = FNVHash.update1a32( hash, ".😀" );
+		assertEquals( FNVHash.hash1a32( "café.😀" ), hash );
+	}
+
+}
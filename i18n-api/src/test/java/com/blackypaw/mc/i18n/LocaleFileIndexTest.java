@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public class LocaleFileIndexTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void indexesFilesByName() throws IOException {
+		this.folder.newFile( "en.properties" );
+		this.folder.newFile( "pt_BR.properties" );
+		this.folder.newFile( "notes.txt" );
+		LocaleFileIndex index = new LocaleFileIndex( this.folder.getRoot(), ".properties" );
+
+		assertTrue( index.contains( "en", Long.MAX_VALUE ) );
+		assertTrue( index.contains( "pt_BR", Long.MAX_VALUE ) );
+		assertFalse( index.contains( "pt", Long.MAX_VALUE ) );
+		assertFalse( index.contains( "notes", Long.MAX_VALUE ) );
+	}
+
+	@Test
+	public void reusesListingForAtLeastOneSecond() throws IOException {
+		LocaleFileIndex index = new LocaleFileIndex( this.folder.getRoot(), ".properties" );
+		assertFalse( index.contains( "de", 0L ) );
+
+		// A time-to-live of zero must not list the directory on every lookup:
+		this.folder.newFile( "de.properties" );
+		assertFalse( index.contains( "de", 0L ) );
+	}
+
+	@Test
+	public void prefersFilesOfFullLocales() throws IOException {
+		File language = this.folder.newFile( "pt.properties" );
+		LocaleFileIndex index = new LocaleFileIndex( this.folder.getRoot(), ".properties" );
+		assertEquals( language, index.getFile( new Locale( "pt", "BR" ) ) );
+
+		File country = this.folder.newFile( "pt_BR.properties" );
+		assertEquals( country, index.getFile( new Locale( "pt", "BR" ) ) );
+		assertEquals( language, index.getFile( new Locale( "pt" ) ) );
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public class MessageTemplateTest {
+
+	@Test
+	public void rendersPlainTextAsIs() {
+		MessageTemplate template = MessageTemplate.compile( "Hello World" );
+		assertFalse( template.hasArguments() );
+		assertSame( template.getSource(), template.render() );
+	}
+
+	@Test
+	public void rendersPositionalArguments() {
+		MessageTemplate template = MessageTemplate.compile( "{1} greets {0}, {0} greets {1}" );
+		assertTrue( template.hasArguments() );
+		assertEquals( "Bob greets Alice, Alice greets Bob", template.render( "Alice", "Bob" ) );
+	}
+
+	@Test
+	public void keepsPlaceholdersOfMissingArguments() {
+		assertEquals( "Hello Alice and {1}", MessageTemplate.compile( "Hello {0} and {1}" ).render( "Alice" ) );
+	}
+
+	@Test
+	public void keepsUnknownPlaceholdersAsLiteralText() {
+		MessageTemplate template = MessageTemplate.compile( "{name} {0,unknown} {" );
+		assertFalse( template.hasArguments() );
+		assertEquals( "{name} {0,unknown} {", template.render( "ignored" ) );
+	}
+
+	@Test
+	public void rendersArgumentsContainingReplacementCharactersLiterally() {
+		MessageTemplate template = MessageTemplate.compile( "Costs {0} at {1}" );
+		assertEquals( "Costs $1.00 at C:\\shop\\$0", template.render( "$1.00", "C:\\shop\\$0" ) );
+		assertEquals( "Costs $1 at {1}", template.render( (CharSequence) "$1" ) );
+	}
+
+	@Test
+	public void rendersSingleArgumentOverloads() {
+		MessageTemplate template = MessageTemplate.compile( "[{0}]" );
+		assertEquals( "[42]", template.render( 42L ) );
+		assertEquals( "[1.5]", template.render( 1.5D ) );
+		assertEquals( "[text]", template.render( (CharSequence) "text" ) );
+	}
+
+	@Test
+	public void rendersNamedArguments() {
+		MessageTemplate template = MessageTemplate.compile( Locale.ENGLISH, "{target} was slain by {killer}", "killer", "target" );
+		assertEquals( "Bob was slain by Alice", template.render( "Alice", "Bob" ) );
+	}
+
+	@Test
+	public void rendersIntoCallerOwnedBuffer() {
+		StringBuilder out = new StringBuilder( "> " );
+		MessageTemplate.compile( "Hello {0}" ).renderTo( out, "Alice" );
+		assertEquals( "> Hello Alice", out.toString() );
+	}
+
+	@Test
+	public void selectsEnglishPluralBranches() {
+		MessageTemplate template = MessageTemplate.compile( Locale.ENGLISH, "{0,plural,=0{no items} one{# item} other{# items}}" );
+		assertEquals( "no items", template.render( 0 ) );
+		assertEquals( "1 item", template.render( 1 ) );
+		assertEquals( "2 items", template.render( 2 ) );
+		assertEquals( "1,000 items", template.render( 1000L ) );
+	}
+
+	@Test
+	public void selectsRussianPluralBranches() {
+		MessageTemplate template = MessageTemplate.compile( new Locale( "ru" ), "{0,plural,one{# one} few{# few} many{# many} other{# other}}" );
+		assertEquals( "1 one", template.render( 1 ) );
+		assertEquals( "3 few", template.render( 3 ) );
+		assertEquals( "5 many", template.render( 5 ) );
+		assertEquals( "11 many", template.render( 11 ) );
+		assertEquals( "21 one", template.render( 21 ) );
+		assertEquals( "22 few", template.render( 22 ) );
+	}
+
+	@Test
+	public void selectsBranchByValue() {
+		MessageTemplate template = MessageTemplate.compile( "{0,select,male{He} female{She} other{They}} joined {1}" );
+		assertEquals( "He joined lobby", template.render( "male", "lobby" ) );
+		assertEquals( "She joined lobby", template.render( "female", "lobby" ) );
+		assertEquals( "They joined lobby", template.render( "robot", "lobby" ) );
+	}
+
+	@Test
+	public void nestsArgumentsInsidePluralBranches() {
+		MessageTemplate template = MessageTemplate.compile( Locale.ENGLISH, "{0,plural,one{{1} has # coin} other{{1} has # coins}}" );
+		assertEquals( "Alice has 1 coin", template.render( 1, "Alice" ) );
+		assertEquals( "Bob has 3 coins", template.render( 3, "Bob" ) );
+	}
+
+	@Test
+	public void keepsMalformedPluralsAsLiteralText() {
+		// Plurals lacking an 'other' branch are not recognized:
+		assertEquals( "{0,plural,one{item}}", MessageTemplate.compile( "{0,plural,one{item}}" ).render( 1 ) );
+	}
+
+	@Test
+	public void formatsNumbersPerLocale() {
+		assertEquals( "1,234.5", MessageTemplate.compile( Locale.US, "{0,number}" ).render( 1234.5D ) );
+		assertEquals( "1.234,5", MessageTemplate.compile( Locale.GERMANY, "{0,number}" ).render( 1234.5D ) );
+		assertEquals( "50%", MessageTemplate.compile( Locale.US, "{0,number,percent}" ).render( 0.5D ) );
+		assertEquals( "007", MessageTemplate.compile( Locale.US, "{0,number,000}" ).render( 7 ) );
+	}
+
+	@Test
+	public void appendsValuesNotMatchingFormatAsIs() {
+		Date date = new Date( 0L );
+		assertEquals( "[" + date + "]", MessageTemplate.compile( Locale.US, "[{0,number}]" ).render( date ) );
+		assertEquals( "[text]", MessageTemplate.compile( Locale.US, "[{0,number}]" ).render( new Object[] { "text" } ) );
+		assertEquals( "[text]", MessageTemplate.compile( Locale.US, "[{0,date}]" ).render( new Object[] { "text" } ) );
+		assertEquals( "[1,234]", MessageTemplate.compile( Locale.US, "[{0,number}]" ).render( new Object[] { 1234 } ) );
+	}
+
+	@Test
+	public void keepsLiteralTemplatesUninterpreted() {
+		MessageTemplate template = MessageTemplate.literal( "{0} stays" );
+		assertFalse( template.hasArguments() );
+		assertEquals( "{0} stays", template.render( "ignored" ) );
+	}
+
+	@Test
+	public void fitsMessagesWithinLength() {
+		assertEquals( "short", MessageTemplate.fit( "short", 16 ) );
+		assertEquals( "trunc", MessageTemplate.fit( "truncated", 5 ) );
+		assertEquals( "", MessageTemplate.fit( "anything", 0 ) );
+		assertEquals( "", MessageTemplate.fit( "anything", -1 ) );
+	}
+
+	@Test
+	public void fitDropsTrailingSectionSign() {
+		assertEquals( "ab", MessageTemplate.fit( "ab\u00A7cde", 3 ) );
+		assertEquals( "ab\u00A7c", MessageTemplate.fit( "ab\u00A7cde", 4 ) );
+	}
+
+	@Test
+	public void fitDropsIncompleteHexColors() {
+		String hex = "\u00A7x\u00A71\u00A72\u00A73\u00A74\u00A75\u00A76";
+		assertEquals( "ab", MessageTemplate.fit( "ab" + hex + "text", 8 ) );
+		assertEquals( "ab", MessageTemplate.fit( "ab" + hex + "text", 15 ) );
+		assertEquals( "ab" + hex, MessageTemplate.fit( "ab" + hex + "text", 16 ) );
+		assertEquals( "ab" + hex + "t", MessageTemplate.fit( "ab" + hex + "text", 17 ) );
+	}
+
+	@Test
+	public void rendersFittedMessages() {
+		assertEquals( "Hello", MessageTemplate.compile( "Hello {0}" ).renderFitted( 5, "Alice" ) );
+		assertEquals( "Hello", MessageTemplate.compile( "Hello World" ).renderFitted( 5 ) );
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public class PluralRuleTest {
+
+	@Test
+	public void selectsEnglishCategories() {
+		PluralRule rule = PluralRule.forLocale( Locale.ENGLISH );
+		assertEquals( PluralRule.OTHER, rule.select( 0 ) );
+		assertEquals( PluralRule.ONE, rule.select( 1 ) );
+		assertEquals( PluralRule.OTHER, rule.select( 2 ) );
+		assertEquals( PluralRule.OTHER, rule.select( 21 ) );
+	}
+
+	@Test
+	public void treatsZeroAsSingularInFrench() {
+		PluralRule rule = PluralRule.forLocale( Locale.FRENCH );
+		assertEquals( PluralRule.ONE, rule.select( 0 ) );
+		assertEquals( PluralRule.ONE, rule.select( 1 ) );
+		assertEquals( PluralRule.OTHER, rule.select( 2 ) );
+	}
+
+	@Test
+	public void selectsRussianCategories() {
+		PluralRule rule = PluralRule.forLocale( new Locale( "ru", "RU" ) );
+		assertEquals( PluralRule.ONE, rule.select( 1 ) );
+		assertEquals( PluralRule.ONE, rule.select( 101 ) );
+		assertEquals( PluralRule.FEW, rule.select( 2 ) );
+		assertEquals( PluralRule.FEW, rule.select( 34 ) );
+		assertEquals( PluralRule.MANY, rule.select( 0 ) );
+		assertEquals( PluralRule.MANY, rule.select( 11 ) );
+		assertEquals( PluralRule.MANY, rule.select( 12 ) );
+		assertEquals( PluralRule.MANY, rule.select( 25 ) );
+	}
+
+	@Test
+	public void selectsPolishCategories() {
+		PluralRule rule = PluralRule.forLocale( new Locale( "pl" ) );
+		assertEquals( PluralRule.ONE, rule.select( 1 ) );
+		assertEquals( PluralRule.FEW, rule.select( 4 ) );
+		assertEquals( PluralRule.MANY, rule.select( 14 ) );
+		assertEquals( PluralRule.MANY, rule.select( 21 ) );
+		assertEquals( PluralRule.FEW, rule.select( 22 ) );
+	}
+
+	@Test
+	public void selectsCzechCategories() {
+		PluralRule rule = PluralRule.forLocale( new Locale( "cs" ) );
+		assertEquals( PluralRule.ONE, rule.select( 1 ) );
+		assertEquals( PluralRule.FEW, rule.select( 3 ) );
+		assertEquals( PluralRule.OTHER, rule.select( 5 ) );
+	}
+
+	@Test
+	public void selectsOtherForLanguagesWithoutPlurals() {
+		PluralRule rule = PluralRule.forLocale( Locale.JAPANESE );
+		assertEquals( PluralRule.OTHER, rule.select( 1 ) );
+		assertEquals( PluralRule.OTHER, rule.select( 2 ) );
+	}
+
+	@Test
+	public void fallsBackToEnglishForUnknownLanguages() {
+		PluralRule rule = PluralRule.forLocale( new Locale( "xx" ) );
+		assertEquals( PluralRule.ONE, rule.select( 1 ) );
+		assertEquals( PluralRule.OTHER, rule.select( 3 ) );
+	}
+
+	@Test
+	public void mapsCategoryKeywords() {
+		assertEquals( PluralRule.ZERO, PluralRule.getCategory( "zero" ) );
+		assertEquals( PluralRule.ONE, PluralRule.getCategory( "one" ) );
+		assertEquals( PluralRule.TWO, PluralRule.getCategory( "two" ) );
+		assertEquals( PluralRule.FEW, PluralRule.getCategory( "few" ) );
+		assertEquals( PluralRule.MANY, PluralRule.getCategory( "many" ) );
+		assertEquals( PluralRule.OTHER, PluralRule.getCategory( "other" ) );
+		assertEquals( -1, PluralRule.getCategory( "several" ) );
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public class RenderCacheTest {
+
+	@Test
+	public void returnsMessagesOfSameGeneration() {
+		RenderCache cache = new RenderCache( 16, 1L, TimeUnit.MINUTES );
+		cache.put( Locale.ENGLISH, 42, new Object[] { "Alice" }, 3, "Hello Alice" );
+
+		assertEquals( "Hello Alice", cache.get( Locale.ENGLISH, 42, new Object[] { "Alice" }, 3 ) );
+		assertNull( cache.get( Locale.ENGLISH, 42, new Object[] { "Bob" }, 3 ) );
+		assertNull( cache.get( Locale.GERMAN, 42, new Object[] { "Alice" }, 3 ) );
+		assertEquals( 1L, cache.getHits() );
+		assertEquals( 2L, cache.getMisses() );
+	}
+
+	@Test
+	public void discardsMessagesOfOtherGenerations() {
+		RenderCache cache = new RenderCache( 16, 1L, TimeUnit.MINUTES );
+		// A render racing a reload inserts its message after the cache was invalidated:
+		cache.put( Locale.ENGLISH, 42, new Object[] { "Alice" }, 3, "Hello Alice" );
+
+		assertNull( cache.get( Locale.ENGLISH, 42, new Object[] { "Alice" }, 4 ) );
+		assertEquals( 0, cache.size() );
+	}
+
+	@Test
+	public void discardsExpiredMessages() {
+		RenderCache cache = new RenderCache( 16, 0L, TimeUnit.NANOSECONDS );
+		cache.put( Locale.ENGLISH, 42, new Object[] { "Alice" }, 0, "Hello Alice" );
+
+		assertNull( cache.get( Locale.ENGLISH, 42, new Object[] { "Alice" }, 0 ) );
+	}
+
+	@Test
+	public void distinguishesArgumentTypes() {
+		RenderCache cache = new RenderCache( 16, 1L, TimeUnit.MINUTES );
+		cache.put( Locale.ENGLISH, 42, new Object[] { 1 }, 0, "int" );
+
+		assertNull( cache.get( Locale.ENGLISH, 42, new Object[] { 1L }, 0 ) );
+		assertEquals( "int", cache.get( Locale.ENGLISH, 42, new Object[] { 1 }, 0 ) );
+	}
+
+	@Test
+	public void copiesArgumentsOnInsertion() {
+		RenderCache cache = new RenderCache( 16, 1L, TimeUnit.MINUTES );
+		Object[]    args  = new Object[] { "Alice" };
+		cache.put( Locale.ENGLISH, 42, args, 0, "Hello Alice" );
+		args[0] = "Bob";
+
+		assertEquals( "Hello Alice", cache.get( Locale.ENGLISH, 42, new Object[] { "Alice" }, 0 ) );
+	}
+
+	@Test
+	public void evictsDownToMaximumSize() {
+		RenderCache cache = new RenderCache( 40, 1L, TimeUnit.MINUTES );
+		for ( int i = 0; i < 1000; ++i ) {
+			cache.put( Locale.ENGLISH, i, new Object[] { i }, 0, "message" );
+		}
+		assertTrue( cache.size() <= cache.getMaximumSize() );
+
+		cache.invalidate();
+		assertEquals( 0, cache.size() );
+	}
+
+	@Test
+	public void cachesImmutableArgumentsOnly() {
+		assertTrue( RenderCache.isCacheable( new Object[] { "text", 1, 2L, 3.0D, 'c', true, TimeUnit.SECONDS, UUID.randomUUID(), Locale.ENGLISH } ) );
+		assertFalse( RenderCache.isCacheable( new Object[] { "text", new StringBuilder( "mutable" ) } ) );
+		assertFalse( RenderCache.isCacheable( new Object[] { new Object[0] } ) );
+	}
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public class TranslationStorageAdapterTest {
+
+	private static final Locale GERMAN   = new Locale( "de" );
+	private static final Locale AUSTRIAN = new Locale( "de", "AT" );
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void translatesLoadedLanguages() throws IOException {
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( null ), this.folder.getRoot() );
+		storage.loadLanguage( Locale.ENGLISH, translations( "greeting", "Hello {0}" ) );
+
+		assertEquals( "Hello Alice", storage.translate( Locale.ENGLISH, "greeting", "Alice" ) );
+		assertTrue( storage.hasTranslation( Locale.ENGLISH, "greeting" ) );
+		assertFalse( storage.hasTranslation( Locale.ENGLISH, "farewell" ) );
+		assertEquals( TranslationStorage.ENOTRANS, storage.translate( Locale.ENGLISH, "farewell" ) );
+		assertEquals( TranslationStorage.ELOCNL, storage.translate( GERMAN, "greeting", "Alice" ) );
+	}
+
+	@Test
+	public void fallsBackAlongChain() throws IOException {
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( Locale.ENGLISH ), this.folder.getRoot() );
+		storage.loadLanguage( Locale.ENGLISH, translations( "greeting", "Hello", "farewell", "Bye", "title", "Server" ) );
+		storage.loadLanguage( GERMAN, translations( "greeting", "Hallo", "farewell", "Tschüss" ) );
+		storage.loadLanguage( AUSTRIAN, translations( "greeting", "Servus" ) );
+
+		assertEquals( "Servus", storage.translate( AUSTRIAN, "greeting" ) );
+		assertEquals( "Tschüss", storage.translate( AUSTRIAN, "farewell" ) );
+		assertEquals( "Server", storage.translate( AUSTRIAN, "title" ) );
+		assertEquals( "Hallo", storage.translate( new Locale( "de", "CH" ), "greeting" ) );
+		assertEquals( "Hello", storage.translate( Locale.FRENCH, "greeting" ) );
+	}
+
+	@Test
+	public void followsExplicitFallbackChains() throws IOException {
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( Locale.ENGLISH ), this.folder.getRoot() );
+		storage.loadLanguage( Locale.ENGLISH, translations( "greeting", "Hello" ) );
+		storage.loadLanguage( GERMAN, translations( "greeting", "Hallo" ) );
+		storage.loadLanguage( new Locale( "lb" ), translations( "title", "Server" ) );
+
+		assertEquals( "Hello", storage.translate( new Locale( "lb" ), "greeting" ) );
+		storage.setFallbackChain( new Locale( "lb" ), GERMAN );
+		assertEquals( "Hallo", storage.translate( new Locale( "lb" ), "greeting" ) );
+		storage.setFallbackChain( new Locale( "lb" ) );
+		assertEquals( "Hello", storage.translate( new Locale( "lb" ), "greeting" ) );
+	}
+
+	@Test
+	public void updatesInheritedTablesOfUnloadedLocales() throws IOException {
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( null ), this.folder.getRoot() );
+		storage.loadLanguage( GERMAN, translations( "greeting", "Hallo" ) );
+		assertEquals( "Hallo", storage.translate( AUSTRIAN, "greeting" ) );
+		assertEquals( TranslationStorage.ELOCNL, storage.translate( Locale.CANADA_FRENCH, "greeting" ) );
+
+		// Loading an unrelated language keeps the table of de_AT:
+		storage.loadLanguage( Locale.ENGLISH, translations( "greeting", "Hello" ) );
+		assertEquals( "Hallo", storage.translate( AUSTRIAN, "greeting" ) );
+
+		// Loading a language of the chain merges it again:
+		storage.loadLanguage( GERMAN, translations( "greeting", "Guten Tag" ) );
+		storage.loadLanguage( Locale.FRENCH, translations( "greeting", "Bonjour" ) );
+		assertEquals( "Guten Tag", storage.translate( AUSTRIAN, "greeting" ) );
+		assertEquals( "Bonjour", storage.translate( Locale.CANADA_FRENCH, "greeting" ) );
+
+		// Loading the locale itself replaces its inherited table:
+		storage.loadLanguage( AUSTRIAN, translations( "greeting", "Servus" ) );
+		assertEquals( "Servus", storage.translate( AUSTRIAN, "greeting" ) );
+	}
+
+	@Test
+	public void resolvesReferences() throws IOException {
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( null ), this.folder.getRoot() );
+		storage.loadLanguage( Locale.ENGLISH, translations( "prefix", "[Server]", "welcome", "{@prefix} Welcome {0}", "missing", "{@unknown} stays" ) );
+
+		assertEquals( "[Server] Welcome Alice", storage.translate( Locale.ENGLISH, "welcome", "Alice" ) );
+		assertEquals( "{@unknown} stays", storage.translate( Locale.ENGLISH, "missing" ) );
+	}
+
+	@Test
+	public void resolvesReferencesAlongFallbackChain() throws IOException {
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( Locale.ENGLISH ), this.folder.getRoot() );
+		storage.loadLanguage( GERMAN, translations( "welcome", "{@prefix} Willkommen" ) );
+		assertEquals( "{@prefix} Willkommen", storage.translate( GERMAN, "welcome" ) );
+
+		// Loading the fallback later resolves the reference all the same:
+		storage.loadLanguage( Locale.ENGLISH, translations( "prefix", "[Server]" ) );
+		assertEquals( "[Server] Willkommen", storage.translate( GERMAN, "welcome" ) );
+	}
+
+	@Test
+	public void rejectsCircularReferences() throws IOException {
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( null ), this.folder.getRoot() );
+		try {
+			storage.loadLanguage( Locale.ENGLISH, translations( "a", "{@b}", "b", "x {@c}", "c", "{@a}" ) );
+			fail( "Expected circular reference to be rejected" );
+		} catch ( IOException e ) {
+			assertTrue( e.getMessage().startsWith( "Circular translation reference" ) );
+		}
+		assertEquals( TranslationStorage.ELOCNL, storage.translate( Locale.ENGLISH, "a" ) );
+	}
+
+	@Test
+	public void loadsPropertyFiles() throws IOException {
+		write( new File( this.folder.getRoot(), "en.properties" ), "greeting=Hello {0}\n" );
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( null ), this.folder.getRoot() );
+		storage.loadLanguage( Locale.ENGLISH );
+
+		assertEquals( "Hello Alice", storage.translate( Locale.ENGLISH, "greeting", "Alice" ) );
+	}
+
+	@Test
+	public void lazilyLoadsPropertyFiles() throws IOException {
+		write( new File( this.folder.getRoot(), "en.properties" ), "greeting=Hello\n" );
+		write( new File( this.folder.getRoot(), "de.properties" ), "greeting=Hallo\n" );
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( Locale.ENGLISH ), this.folder.getRoot(), true );
+
+		assertEquals( "Hallo", storage.translate( GERMAN, "greeting" ) );
+		assertEquals( "Hello", storage.translate( Locale.FRENCH, "greeting" ) );
+	}
+
+	@Test
+	public void prefersFilesOfFullLocales() throws IOException {
+		write( new File( this.folder.getRoot(), "pt.properties" ), "greeting=Olá\nfarewell=Tchau\n" );
+		write( new File( this.folder.getRoot(), "pt_BR.properties" ), "greeting=Oi\n" );
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( null ), this.folder.getRoot() );
+		storage.loadLanguage( new Locale( "pt", "BR" ) );
+		storage.loadLanguage( new Locale( "pt", "PT" ) );
+
+		assertEquals( "Oi", storage.translate( new Locale( "pt", "BR" ), "greeting" ) );
+		assertEquals( "Olá", storage.translate( new Locale( "pt", "PT" ), "greeting" ) );
+	}
+
+	@Test
+	public void lazilyLoadsFilesOfFullLocales() throws IOException {
+		write( new File( this.folder.getRoot(), "pt.properties" ), "greeting=Olá\nfarewell=Tchau\n" );
+		write( new File( this.folder.getRoot(), "pt_BR.properties" ), "greeting=Oi\n" );
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( null ), this.folder.getRoot(), true );
+
+		assertEquals( "Oi", storage.translate( new Locale( "pt", "BR" ), "greeting" ) );
+		assertEquals( "Tchau", storage.translate( new Locale( "pt", "BR" ), "farewell" ) );
+		assertEquals( "Olá", storage.translate( new Locale( "pt", "PT" ), "greeting" ) );
+	}
+
+	@Test
+	public void appliesArgumentLayouts() throws IOException {
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( null ), this.folder.getRoot() );
+		storage.loadLanguage( Locale.ENGLISH, translations( "kill", "{target} was slain by {killer}" ) );
+		storage.registerArgumentLayout( new ArgumentLayout( "kill", "killer", "target" ) );
+
+		assertEquals( "Bob was slain by Alice", storage.translate( Locale.ENGLISH, "kill", "Alice", "Bob" ) );
+	}
+
+	@Test
+	public void invalidatesRenderCacheOnLoad() throws IOException {
+		PropertyTranslationStorage storage = new PropertyTranslationStorage( new TestI18N( null ), this.folder.getRoot() );
+		storage.setRenderCache( new RenderCache( 64, 1L, TimeUnit.MINUTES ) );
+		storage.loadLanguage( Locale.ENGLISH, translations( "greeting", "Hello {0}" ) );
+		assertEquals( "Hello Alice", storage.translate( Locale.ENGLISH, "greeting", "Alice" ) );
+		assertEquals( "Hello Alice", storage.translate( Locale.ENGLISH, "greeting", "Alice" ) );
+		assertEquals( 1L, storage.getRenderCache().getHits() );
+
+		storage.loadLanguage( Locale.ENGLISH, translations( "greeting", "Hi {0}" ) );
+		assertEquals( "Hi Alice", storage.translate( Locale.ENGLISH, "greeting", "Alice" ) );
+	}
+
+	private static Map<String, String> translations( String... keysAndValues ) {
+		Map<String, String> translations = new HashMap<>();
+		for ( int i = 0; i < keysAndValues.length; i += 2 ) {
+			translations.put( keysAndValues[i], keysAndValues[i + 1] );
+		}
+		return translations;
+	}
+
+	private static void write( File file, String content ) throws IOException {
+		try ( OutputStream out = new FileOutputStream( file ) ) {
+			out.write( content.getBytes( StandardCharsets.ISO_8859_1 ) );
+		}
+	}
+
+}
@@ -31,6 +31,11 @@ class LocalizerBungeeCordImpl extends Localizer {
 		return this.storage.translate( locale, keyHash, args );
 	}
 	
+	@Override
+	TranslationStorage getStorage() {
+		return this.storage;
+	}
+	
 	@Override
 	public void close() throws Exception {
 		// Nothing to clean up here
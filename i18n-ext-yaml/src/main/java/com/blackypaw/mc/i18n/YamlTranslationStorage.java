@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class is part of the i18n-ext-yaml API extension.
@@ -31,14 +32,14 @@ import java.util.Map;
  */
 public class YamlTranslationStorage extends TranslationStorageAdapter {
 
-	private final File baseDirectory;
+	private final LocaleFileIndex index;
 
 	/**
 	 * Constructs a new Yaml translation storage. The created instance will attempt
 	 * to resolve translations given the directory all .yml files containing the
 	 * locale specific translations are stored in. The files are expected to be named
-	 * after the language code of the respective language, e.g. en.yml or
-	 * de.yml.
+	 * after the respective locale, e.g. en.yml, de.yml or pt_BR.yml.
+	 * Locales without a file of their own use the file of their language.
 	 * <p>
 	 * Per default the created instance is not allowed to lazy load any translations.
 	 *
@@ -46,31 +47,28 @@ public class YamlTranslationStorage extends TranslationStorageAdapter {
 	 */
 	public YamlTranslationStorage( I18N i18n, File directory ) {
 		super( i18n, false );
-		this.baseDirectory = directory;
+		this.index = new LocaleFileIndex( directory, ".yml" );
 	}
 
 	/**
 	 * Constructs a new Yaml translation storage. The created instance will attempt
 	 * to resolve translations given the directory all .yml files containing the
 	 * locale specific translations are stored in. The files are expected to be named
-	 * after the language code of the respective language, e.g. en.yml or
-	 * de.yml.
+	 * after the respective locale, e.g. en.yml, de.yml or pt_BR.yml.
+	 * Locales without a file of their own use the file of their language.
 	 *
 	 * @param directory The directory all property files are stored in
 	 * @param lazyLoad Whether or not lazy loading of translations should be allowed
 	 */
 	public YamlTranslationStorage( I18N i18n, File directory, boolean lazyLoad ) {
 		super( i18n, lazyLoad );
-		this.baseDirectory = directory;
+		this.index = new LocaleFileIndex( directory, ".yml" );
 	}
 
 	@Override
 	@SuppressWarnings( "unchecked" )
 	public void loadLanguage( Locale locale ) throws IOException {
-		// Clear any cached results:
-		this.translations.remove( locale );
-
-		final File translationFile = new File( this.baseDirectory, locale.getLanguage() + ".yml" );
+		final File translationFile = this.index.getFile( locale );
 
 		try ( InputStream in = new BufferedInputStream( new FileInputStream( translationFile ) ) ) {
 			Yaml yaml = new Yaml();
@@ -78,11 +76,11 @@ public class YamlTranslationStorage extends TranslationStorageAdapter {
 
 			if ( parsed instanceof Map ) {
 				Map<String, Object> translationParsed = (Map<String, Object>) parsed;
-				Map<Integer, String> translation = new HashMap<>();
+				Map<String, String> translation = new HashMap<>();
 
 				this.addTranslationKeyMap( translation, translationParsed, new StringBuilder() );
 
-				this.translations.put( locale, translation );
+				this.loadLanguage( locale, translation );
 			} else {
 				throw new IOException( "Failed to load YAML translation file '" + translationFile + "': YAML data could not be converted to a Map. Please review the file and ensure that it does only contain key-value pairs" );
 			}
@@ -90,7 +88,7 @@ public class YamlTranslationStorage extends TranslationStorageAdapter {
 	}
 
 	@SuppressWarnings( "unchecked" )
-	private void addTranslationKey( Map<Integer, String> translation, Map.Entry<String, Object> entry, StringBuilder keyBuilder ) throws IOException {
+	private void addTranslationKey( Map<String, String> translation, Map.Entry<String, Object> entry, StringBuilder keyBuilder ) throws IOException {
 		int rollback = keyBuilder.length();
 
 		keyBuilder.append( entry.getKey() );
@@ -98,11 +96,10 @@ public class YamlTranslationStorage extends TranslationStorageAdapter {
 		if ( value instanceof String ) {
 			// Direct translation key:
 			String translationKey = keyBuilder.toString();
-			int hash = FNVHash.hash1a32( translationKey );
-			if ( translation.containsKey( hash ) ) {
-				throw new IOException( "Colliding hash codes for distinct translation keys: '" + translationKey + "'; please rename the translation key" );
+			if ( translation.containsKey( translationKey ) ) {
+				throw new IOException( "Duplicate translation key: '" + translationKey + "'; please rename the translation key" );
 			}
-			translation.put( hash, (String) value );
+			translation.put( translationKey, (String) value );
 		} else if ( value instanceof List ) {
 			// A list of sub-translation keys:
 			keyBuilder.append( '.' );
@@ -121,10 +118,23 @@ public class YamlTranslationStorage extends TranslationStorageAdapter {
 		keyBuilder.setLength( rollback );
 	}
 
-	private void addTranslationKeyMap( Map<Integer, String> translation, Map<String, Object> map, StringBuilder keyBuilder ) throws IOException {
+	private void addTranslationKeyMap( Map<String, String> translation, Map<String, Object> map, StringBuilder keyBuilder ) throws IOException {
 		for ( Map.Entry<String, Object> translationEntry : map.entrySet() ) {
 			this.addTranslationKey( translation, translationEntry, keyBuilder );
 		}
 	}
 
+	@Override
+	protected boolean isLanguageAvailable( Locale locale ) {
+		long ttl = this.getMissingLocaleTtl( TimeUnit.NANOSECONDS );
+		if ( this.index.contains( locale.toString(), ttl ) ) {
+			return true;
+		}
+
+		// Locales falling back to their language anyway are answered from the language's
+		// table instead of loading the language's file once more:
+		Locale language = new Locale( locale.getLanguage() );
+		return !this.getFallbackChain( locale ).contains( language ) && this.index.contains( language.getLanguage(), ttl );
+	}
+
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import java.util.Locale;
+
+/**
+ * Minimal I18N implementation providing nothing but a fallback locale to the translation
+ * storages under test.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+class TestI18N implements I18N<Object> {
+
+	private final Locale fallbackLocale;
+
+	/**
+	 * Constructs a new test I18N instance.
+	 *
+	 * @param fallbackLocale The fallback locale or null if storages should not fall back
+	 */
+	TestI18N( Locale fallbackLocale ) {
+		this.fallbackLocale = fallbackLocale;
+	}
+
+	@Override
+	public boolean isInjectionSupported() {
+		return false;
+	}
+
+	@Override
+	public Localizer createLocalizer( TranslationStorage storage ) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Locale getLocale( Object key ) {
+		return this.fallbackLocale;
+	}
+
+	@Override
+	public boolean trySetLocale( Object key, Locale locale ) {
+		return false;
+	}
+
+	@Override
+	public void setLocaleResolver( LocaleResolver<Object> resolver ) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean shouldUseFallbackLocale() {
+		return this.fallbackLocale != null;
+	}
+
+	@Override
+	public Locale getFallbackLocale() {
+		return this.fallbackLocale;
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public class YamlTranslationStorageTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void flattensNestedKeys() throws IOException {
+		this.write( "en.yml", "menu:\n  title: Shop\n  items:\n    - buy: Buy {0}\n    - sell: Sell {0}\n" );
+		YamlTranslationStorage storage = new YamlTranslationStorage( new TestI18N( null ), this.folder.getRoot() );
+		storage.loadLanguage( Locale.ENGLISH );
+
+		assertEquals( "Shop", storage.translate( Locale.ENGLISH, "menu.title" ) );
+		assertEquals( "Buy apples", storage.translate( Locale.ENGLISH, "menu.items.buy", "apples" ) );
+		assertEquals( "Sell apples", storage.translate( Locale.ENGLISH, "menu.items.sell", "apples" ) );
+	}
+
+	@Test
+	public void compilesPluralsAndReferences() throws IOException {
+		this.write( "en.yml", "prefix: '[Shop]'\ncart: '{@prefix} {0,plural,one{# item} other{# items}}'\n" );
+		YamlTranslationStorage storage = new YamlTranslationStorage( new TestI18N( null ), this.folder.getRoot() );
+		storage.loadLanguage( Locale.ENGLISH );
+
+		assertEquals( "[Shop] 1 item", storage.translate( Locale.ENGLISH, "cart", 1 ) );
+		assertEquals( "[Shop] 5 items", storage.translate( Locale.ENGLISH, "cart", 5 ) );
+	}
+
+	@Test
+	public void lazilyLoadsFallbacks() throws IOException {
+		this.write( "en.yml", "greeting: Hello\nfarewell: Bye\n" );
+		this.write( "de.yml", "greeting: Hallo\n" );
+		YamlTranslationStorage storage = new YamlTranslationStorage( new TestI18N( Locale.ENGLISH ), this.folder.getRoot(), true );
+
+		assertEquals( "Hallo", storage.translate( Locale.GERMAN, "greeting" ) );
+		assertEquals( "Bye", storage.translate( Locale.GERMAN, "farewell" ) );
+		assertEquals( "Hello", storage.translate( Locale.FRENCH, "greeting" ) );
+	}
+
+	@Test
+	public void lazilyLoadsFilesOfFullLocales() throws IOException {
+		this.write( "pt.yml", "greeting: Olá\nfarewell: Tchau\n" );
+		this.write( "pt_BR.yml", "greeting: Oi\n" );
+		YamlTranslationStorage storage = new YamlTranslationStorage( new TestI18N( null ), this.folder.getRoot(), true );
+
+		assertEquals( "Oi", storage.translate( new Locale( "pt", "BR" ), "greeting" ) );
+		assertEquals( "Tchau", storage.translate( new Locale( "pt", "BR" ), "farewell" ) );
+		assertEquals( "Olá", storage.translate( new Locale( "pt", "PT" ), "greeting" ) );
+	}
+
+	@Test( expected = IOException.class )
+	public void rejectsNonMappingFiles() throws IOException {
+		this.write( "en.yml", "- just\n- a list\n" );
+		new YamlTranslationStorage( new TestI18N( null ), this.folder.getRoot() ).loadLanguage( Locale.ENGLISH );
+	}
+
+	private void write( String name, String content ) throws IOException {
+		try ( OutputStream out = new FileOutputStream( new File( this.folder.getRoot(), name ) ) ) {
+			out.write( content.getBytes( StandardCharsets.UTF_8 ) );
+		}
+	}
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.chat.ComponentSerializer;
+
+/**
+ * Encodes translated messages containing legacy formatting codes into the JSON
+ * representation of chat components. Using JSON color tags over the legacy chat
+ * format makes sure formatting is kept on any additional lines should a long
+ * message be wrapped by the client (see issue #4).
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public class ChatJsonEncoder implements TemplateEncoder<String> {
+	
+	public static final ChatJsonEncoder INSTANCE = new ChatJsonEncoder();
+	
+	private ChatJsonEncoder() {
+		
+	}
+	
+	@Override
+	public String encode( String message ) {
+		return ComponentSerializer.toString( TextComponent.fromLegacyText( message ) );
+	}
+	
+}
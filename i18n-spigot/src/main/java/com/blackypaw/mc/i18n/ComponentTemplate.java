@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.HoverEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compiled form of a translation which is to be sent as chat components. Besides legacy
+ * formatting codes translations may contain inline markup for clickable and hoverable text:
+ * <pre>
+ * Click [here](run:/spawn|hover:Teleports you to spawn) to leave.
+ * </pre>
+ * The actions run, suggest and url set the text's click event whereas hover sets the text
+ * shown when hovering over it. Markup is parsed once when the template gets compiled so that
+ * arguments inserted into the translation can never introduce any markup themselves.
+ * Brackets inside placeholders, e.g. within the branches of a plural or select placeholder,
+ * are never taken for markup. Malformed markup is kept as literal text.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+final class ComponentTemplate {
+	
+	/**
+	 * Encoder for translations without any arguments whose components are cached per template.
+	 * The cached components are shared and must be copied before being handed out.
+	 */
+	static final TemplateEncoder<BaseComponent[]> ENCODER = new TemplateEncoder<BaseComponent[]>() {
+		@Override
+		public BaseComponent[] encode( String message ) {
+			return ComponentTemplate.compile( Locale.ENGLISH, message, null ).render();
+		}
+	};
+	
+	private final Part[] parts;
+	
+	private ComponentTemplate( Part[] parts ) {
+		this.parts = parts;
+	}
+	
+	/**
+	 * Compiles the given translation into a component template.
+	 *
+	 * @param locale The locale of the translation
+	 * @param source The translation to compile
+	 * @param names The names of the translation's arguments or null if it has got no named arguments
+	 *
+	 * @return The compiled component template
+	 */
+	static ComponentTemplate compile( Locale locale, String source, String[] names ) {
+		List<Part>    parts   = new ArrayList<>();
+		StringBuilder literal = new StringBuilder( source.length() );
+		
+		int i = 0;
+		while ( i < source.length() ) {
+			char c = source.charAt( i );
+			if ( c == '{' ) {
+				// Keep placeholders in one piece so that brackets inside their branches are not taken for markup:
+				int end = findClosing( source, i, '{', '}' );
+				if ( end != -1 ) {
+					literal.append( source, i, end + 1 );
+					i = end + 1;
+					continue;
+				}
+			} else if ( c == '[' ) {
+				int labelEnd   = findClosing( source, i, '[', ']' );
+				int actionsEnd = ( labelEnd != -1 && labelEnd + 1 < source.length() && source.charAt( labelEnd + 1 ) == '(' ? findClosing( source, labelEnd + 1, '(', ')' ) : -1 );
+				if ( actionsEnd != -1 ) {
+					Part part = compileMarkup( locale, names, source.substring( i + 1, labelEnd ), source.substring( labelEnd + 2, actionsEnd ) );
+					if ( part != null ) {
+						if ( literal.length() > 0 ) {
+							parts.add( new Part( MessageTemplate.compile( locale, literal.toString(), names ) ) );
+							literal.setLength( 0 );
+						}
+						parts.add( part );
+						i = actionsEnd + 1;
+						continue;
+					}
+				}
+			}
+			
+			literal.append( c );
+			++i;
+		}
+		
+		if ( literal.length() > 0 ) {
+			parts.add( new Part( MessageTemplate.compile( locale, literal.toString(), names ) ) );
+		}
+		
+		return new ComponentTemplate( parts.toArray( new Part[parts.size()] ) );
+	}
+	
+	/**
+	 * Renders the template into chat components.
+	 *
+	 * @param args The arguments to insert
+	 *
+	 * @return The rendered components
+	 */
+	BaseComponent[] render( Object... args ) {
+		if ( MessageTemplate.containsSupplier( args ) ) {
+			// All parts render from the same copy of the arguments so that every supplier gets
+			// evaluated at most once per message rather than once per part:
+			args = args.clone();
+		}
+		
+		List<BaseComponent> components = new ArrayList<>();
+		StringBuilder       buffer     = new StringBuilder();
+		String              formatting = "";
+		
+		for ( Part part : this.parts ) {
+			// Continue the formatting of the previous part as every part is parsed on its own:
+			buffer.setLength( 0 );
+			buffer.append( formatting );
+			String text = render( buffer, part.text, args );
+			
+			ClickEvent click = null;
+			if ( part.clickAction != null ) {
+				buffer.setLength( 0 );
+				click = new ClickEvent( part.clickAction, render( buffer, part.clickValue, args ) );
+			}
+			
+			HoverEvent hover = null;
+			if ( part.hover != null ) {
+				buffer.setLength( 0 );
+				hover = new HoverEvent( HoverEvent.Action.SHOW_TEXT, TextComponent.fromLegacyText( render( buffer, part.hover, args ) ) );
+			}
+			
+			for ( BaseComponent component : TextComponent.fromLegacyText( text ) ) {
+				if ( click != null ) {
+					component.setClickEvent( click );
+				}
+				if ( hover != null ) {
+					component.setHoverEvent( hover );
+				}
+				components.add( component );
+			}
+			
+			formatting = ChatColor.getLastColors( text );
+		}
+		
+		return components.toArray( new BaseComponent[components.size()] );
+	}
+	
+	/**
+	 * Renders a template into the given buffer without copying the arguments, so that suppliers
+	 * evaluated by one part are memoized for all following parts.
+	 *
+	 * @param buffer The buffer to render into
+	 * @param template The template to render
+	 * @param args The arguments to insert; must not be the caller's array if it contains suppliers
+	 *
+	 * @return The contents of the buffer
+	 */
+	private static String render( StringBuilder buffer, MessageTemplate template, Object[] args ) {
+		template.append( buffer, args );
+		return buffer.toString();
+	}
+	
+	/**
+	 * Compiles a single piece of markup.
+	 *
+	 * @param locale The locale of the translation
+	 * @param names The names of the translation's arguments or null if it has got no named arguments
+	 * @param label The text found between the markup's square brackets
+	 * @param actions The actions found between the markup's parentheses
+	 *
+	 * @return The compiled part or null if the markup is malformed
+	 */
+	private static Part compileMarkup( Locale locale, String[] names, String label, String actions ) {
+		ClickEvent.Action clickAction = null;
+		MessageTemplate   clickValue  = null;
+		MessageTemplate   hover       = null;
+		
+		for ( String action : splitActions( actions ) ) {
+			int separator = action.indexOf( ':' );
+			if ( separator == -1 ) {
+				return null;
+			}
+			
+			String          type  = action.substring( 0, separator ).trim();
+			MessageTemplate value = MessageTemplate.compile( locale, action.substring( separator + 1 ), names );
+			switch ( type ) {
+				case "run":
+					clickAction = ClickEvent.Action.RUN_COMMAND;
+					clickValue = value;
+					break;
+				case "suggest":
+					clickAction = ClickEvent.Action.SUGGEST_COMMAND;
+					clickValue = value;
+					break;
+				case "url":
+					clickAction = ClickEvent.Action.OPEN_URL;
+					clickValue = value;
+					break;
+				case "hover":
+					hover = value;
+					break;
+				default:
+					return null;
+			}
+		}
+		
+		return new Part( MessageTemplate.compile( locale, label, names ), clickAction, clickValue, hover );
+	}
+	
+	/**
+	 * Splits the actions of a piece of markup at all separators not enclosed in braces.
+	 *
+	 * @param actions The actions found between the markup's parentheses
+	 *
+	 * @return The individual actions
+	 */
+	private static List<String> splitActions( String actions ) {
+		List<String> result = new ArrayList<>();
+		int          depth  = 0;
+		int          start  = 0;
+		for ( int i = 0; i < actions.length(); ++i ) {
+			char c = actions.charAt( i );
+			if ( c == '{' ) {
+				++depth;
+			} else if ( c == '}' ) {
+				--depth;
+			} else if ( c == '|' && depth == 0 ) {
+				result.add( actions.substring( start, i ) );
+				start = i + 1;
+			}
+		}
+		result.add( actions.substring( start ) );
+		return result;
+	}
+	
+	/**
+	 * Finds the bracket closing the bracket at the given index taking nested brackets into account.
+	 * Unless braces themselves are to be matched, brackets enclosed in braces are ignored.
+	 *
+	 * @param source The text to search
+	 * @param open The index of the opening bracket
+	 * @param opening The opening bracket
+	 * @param closing The closing bracket
+	 *
+	 * @return The index of the closing bracket or -1 if there is none
+	 */
+	private static int findClosing( String source, int open, char opening, char closing ) {
+		int depth  = 0;
+		int braces = 0;
+		for ( int i = open; i < source.length(); ++i ) {
+			char c = source.charAt( i );
+			if ( opening != '{' && ( c == '{' || c == '}' ) ) {
+				braces += ( c == '{' ? 1 : -1 );
+			} else if ( braces > 0 ) {
+				continue;
+			} else if ( c == opening ) {
+				++depth;
+			} else if ( c == closing ) {
+				if ( --depth == 0 ) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * A piece of text sharing the same click and hover events.
+	 */
+	private static final class Part {
+		
+		private final MessageTemplate   text;
+		private final ClickEvent.Action clickAction;
+		private final MessageTemplate   clickValue;
+		private final MessageTemplate   hover;
+		
+		private Part( MessageTemplate text ) {
+			this( text, null, null, null );
+		}
+		
+		private Part( MessageTemplate text, ClickEvent.Action clickAction, MessageTemplate clickValue, MessageTemplate hover ) {
+			this.text = text;
+			this.clickAction = clickAction;
+			this.clickValue = clickValue;
+			this.hover = hover;
+		}
+		
+	}
+	
+}
@@ -63,6 +63,30 @@ public class I18NSpigotAdapter extends JavaPlugin {
 		return adapter.i18n;
 	}
 	
+	/**
+	 * Creates a new localizer using the given translation storage. Unlike the localizers created
+	 * via {@link #getI18N()} directly, the returned localizer is typed so that its Spigot specific
+	 * features such as {@link SpigotLocalizer#translateComponents(Locale, String, Object...)} may
+	 * be accessed without any casts.
+	 *
+	 * @param storage The translation storage to be used by the localizer
+	 *
+	 * @return The created localizer
+	 */
+	public static SpigotLocalizer createLocalizer( TranslationStorage storage ) {
+		return adapter.i18n.createLocalizer( storage );
+	}
+	
+	/**
+	 * Returns the registry of player-specific placeholders which may be passed as arguments
+	 * to injected translations. See {@link PlaceholderRegistry} for further details.
+	 *
+	 * @return The registry of player-specific placeholders
+	 */
+	public static PlaceholderRegistry getPlaceholderRegistry() {
+		return adapter.i18n.getPlaceholderRegistry();
+	}
+	
 	@Override
 	public void onEnable() {
 		adapter = this;
@@ -74,6 +98,7 @@ public class I18NSpigotAdapter extends JavaPlugin {
 		this.prepareLocalizer();
 		this.registerCommands();
 		this.registerListeners();
+		this.scheduleTasks();
 		this.installInterceptors();
 	}
 	
@@ -163,6 +188,17 @@ public class I18NSpigotAdapter extends JavaPlugin {
 		pluginManager.registerEvents( new PlayerQuitListener( this.i18n ), this );
 	}
 	
+	private void scheduleTasks() {
+		final PlaceholderRegistry placeholderRegistry = this.i18n.getPlaceholderRegistry();
+		this.getServer().getScheduler().runTaskTimer( this, new Runnable() {
+			@Override
+			public void run() {
+				// Expire all placeholder values memoized during the last tick:
+				placeholderRegistry.tick();
+			}
+		}, 1L, 1L );
+	}
+	
 	private void installInterceptors() {
 		GsonBuilder gsonBuilder = new GsonBuilder();
 		gsonBuilder.registerTypeAdapter( ChatComponent.class, new ChatComponentDeserializer() );
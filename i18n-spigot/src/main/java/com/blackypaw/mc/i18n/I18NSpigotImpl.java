@@ -26,7 +26,8 @@ import java.util.logging.Logger;
  */
 public class I18NSpigotImpl implements InjectionAwareI18N<UUID> {
 	
-	private final Logger logger;
+	private final Logger              logger;
+	private final PlaceholderRegistry placeholderRegistry;
 	
 	private LocalizerFactory     localizerFactory;
 	private Locale               fallbackLocale;
@@ -36,6 +37,7 @@ public class I18NSpigotImpl implements InjectionAwareI18N<UUID> {
 	
 	I18NSpigotImpl( Logger logger ) {
 		this.logger = logger;
+		this.placeholderRegistry = new PlaceholderRegistry( logger );
 	}
 	
 	boolean initializeFromConfig( PluginConfig config ) {
@@ -74,7 +76,7 @@ public class I18NSpigotImpl implements InjectionAwareI18N<UUID> {
 	}
 	
 	@Override
-	public InjectionAwareLocalizer createLocalizer( TranslationStorage storage ) {
+	public SpigotLocalizer createLocalizer( TranslationStorage storage ) {
 		return this.localizerFactory.createInstance( storage );
 	}
 	
@@ -124,6 +126,16 @@ public class I18NSpigotImpl implements InjectionAwareI18N<UUID> {
 		}
 	}
 	
+	/**
+	 * Gets the registry of player-specific placeholders resolved whenever injected translations
+	 * are sent to players.
+	 *
+	 * @return The registry of player-specific placeholders
+	 */
+	public PlaceholderRegistry getPlaceholderRegistry() {
+		return this.placeholderRegistry;
+	}
+	
 	LocalizerFactory getLocalizerFactory() {
 		return this.localizerFactory;
 	}
@@ -13,9 +13,12 @@ import com.comphenix.protocol.events.ListenerPriority;
 import com.comphenix.protocol.events.PacketAdapter;
 import com.comphenix.protocol.wrappers.WrappedChatComponent;
 import com.google.gson.Gson;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * @author BlackyPaw
@@ -23,6 +26,12 @@ import java.util.Locale;
  */
 public class InterceptorBase extends PacketAdapter {
 	
+	/**
+	 * The maximum depth injected translations passed as arguments of other injected translations
+	 * are translated up to. Deeper nested injected translations are inserted as-is.
+	 */
+	private static final int MAX_NESTING_DEPTH = 4;
+	
 	protected final Gson           gson;
 	protected final I18NSpigotImpl i18n;
 	
@@ -36,30 +45,86 @@ public class InterceptorBase extends PacketAdapter {
 		return this.gson.fromJson( component.getJson(), ChatComponent.class ).getUnformattedText();
 	}
 	
-	protected String translateMessageIfAppropriate( Locale locale, String message ) {
+	protected String translateMessageIfAppropriate( Player player, Locale locale, String message ) {
 		if ( message.startsWith( "trns" ) ) {
 			// Immediate translation:
 			return this.translateMessageImmediate( locale, message );
 		} else if ( message.startsWith( "injc" ) ) {
 			// Injection handle translation:
-			return this.translateMessageInjected( locale, message );
+			return this.translateMessageInjected( player, locale, message );
 		}
 		// No translation injection detected:
 		return message;
 	}
 	
-	protected String translateMessageImmediate( Locale locale, String message ) {
-		int localizerId = 0;
-		localizerId |= ( ( (int) message.charAt( 4 ) ) & 0xFF ) << 24;
-		localizerId |= ( ( (int) message.charAt( 5 ) ) & 0xFF ) << 16;
-		localizerId |= ( ( (int) message.charAt( 6 ) ) & 0xFF ) << 8;
-		localizerId |= ( ( (int) message.charAt( 7 ) ) & 0xFF );
+	/**
+	 * Translates the given message if it is an injected translation and fits the result into
+	 * the given number of characters without ever splitting a formatting code. Fitted forms of
+	 * translations without any arguments are computed only once per locale and length.
+	 *
+	 * @param player The player receiving the message
+	 * @param locale The locale to translate into
+	 * @param message The message to translate
+	 * @param maxLength The maximum number of characters the translation may take up
+	 *
+	 * @return The fitted translation or the message itself if it is not an injected translation
+	 */
+	protected String translateMessageIfAppropriate( Player player, Locale locale, String message, int maxLength ) {
+		if ( message.startsWith( "trns" ) ) {
+			// Immediate translation (argument-free and thus cached):
+			int localizerId = readInt( message, 4 );
+			int keyHash     = readInt( message, 8 );
+			
+			Localizer localizer = this.i18n.getLocalizerFactory().findInstance( localizerId );
+			if ( localizer != null ) {
+				return localizer.translateFitted( locale, keyHash, maxLength );
+			} else {
+				return TranslationStorage.ENOLCLZR;
+			}
+		} else if ( message.startsWith( "injc" ) ) {
+			return MessageTemplate.fit( this.translateMessageInjected( player, locale, message ), maxLength );
+		}
+		// No translation injection detected:
+		return message;
+	}
+	
+	/**
+	 * Translates the given message if it is an injected translation and encodes the result
+	 * as chat JSON. The JSON of translations without any arguments is computed only once per
+	 * locale and reused afterwards.
+	 *
+	 * @param player The player receiving the message
+	 * @param locale The locale to translate into
+	 * @param message The message to translate
+	 *
+	 * @return The chat JSON of the translation or null if the message is not an injected translation
+	 */
+	protected String translateChatJsonIfAppropriate( Player player, Locale locale, String message ) {
+		if ( message.startsWith( "trns" ) ) {
+			// Immediate translation (argument-free and thus cached):
+			return this.translateChatJsonImmediate( locale, message );
+		} else if ( message.startsWith( "injc" ) ) {
+			return ChatJsonEncoder.INSTANCE.encode( this.translateMessageInjected( player, locale, message ) );
+		}
+		// No translation injection detected:
+		return null;
+	}
+	
+	protected String translateChatJsonImmediate( Locale locale, String message ) {
+		int localizerId = readInt( message, 4 );
+		int keyHash     = readInt( message, 8 );
 		
-		int keyHash = 0;
-		keyHash |= ( ( (int) message.charAt( 8 ) ) & 0xFF ) << 24;
-		keyHash |= ( ( (int) message.charAt( 9 ) ) & 0xFF ) << 16;
-		keyHash |= ( ( (int) message.charAt( 10 ) ) & 0xFF ) << 8;
-		keyHash |= ( ( (int) message.charAt( 11 ) ) & 0xFF );
+		Localizer localizer = this.i18n.getLocalizerFactory().findInstance( localizerId );
+		if ( localizer != null ) {
+			return localizer.translateEncoded( locale, keyHash, ChatJsonEncoder.INSTANCE );
+		} else {
+			return ChatJsonEncoder.INSTANCE.encode( TranslationStorage.ENOLCLZR );
+		}
+	}
+	
+	protected String translateMessageImmediate( Locale locale, String message ) {
+		int localizerId = readInt( message, 4 );
+		int keyHash     = readInt( message, 8 );
 		
 		Localizer localizer = this.i18n.getLocalizerFactory().findInstance( localizerId );
 		if ( localizer != null ) {
@@ -69,24 +134,60 @@ public class InterceptorBase extends PacketAdapter {
 		}
 	}
 	
-	protected String translateMessageInjected( Locale locale, String message ) {
-		int localizerId = 0;
-		localizerId |= ( ( (int) message.charAt( 4 ) ) & 0xFF ) << 24;
-		localizerId |= ( ( (int) message.charAt( 5 ) ) & 0xFF ) << 16;
-		localizerId |= ( ( (int) message.charAt( 6 ) ) & 0xFF ) << 8;
-		localizerId |= ( ( (int) message.charAt( 7 ) ) & 0xFF );
-		
-		int injectionId = 0;
-		injectionId |= ( ( (int) message.charAt( 8 ) ) & 0xFF ) << 24;
-		injectionId |= ( ( (int) message.charAt( 9 ) ) & 0xFF ) << 16;
-		injectionId |= ( ( (int) message.charAt( 10 ) ) & 0xFF ) << 8;
-		injectionId |= ( ( (int) message.charAt( 11 ) ) & 0xFF );
+	protected String translateMessageInjected( Player player, Locale locale, String message ) {
+		return this.translateMessageInjected( player, locale, message, 0, null );
+	}
+	
+	/**
+	 * Translates an injection handle's string, translating any arguments of the handle which
+	 * are injected translations themselves against the same locale.
+	 *
+	 * @param player The player receiving the message
+	 * @param locale The locale to translate into
+	 * @param message The injection handle's string
+	 * @param depth The number of injected translations the message is nested in
+	 * @param nested Nested translations already translated during this render or null if none have been yet
+	 *
+	 * @return The translated message
+	 */
+	private String translateMessageInjected( Player player, Locale locale, String message, int depth, Map<String, String> nested ) {
+		int localizerId = readInt( message, 4 );
+		int injectionId = readInt( message, 8 );
 		
 		InjectionAwareLocalizer localizer = this.i18n.getLocalizerFactory().findInstance( localizerId );
 		if ( localizer != null ) {
 			InjectionHandle handle = localizer.resolveInjectionHandle( injectionId );
 			if ( handle != null ) {
-				return localizer.translateDirect( locale, handle.getKey(), handle.getArgs() );
+				// Resolve player-specific placeholders against the receiving player:
+				Object[] args = this.i18n.getPlaceholderRegistry().resolveArguments( player, handle.getArgs() );
+				
+				Object[] translatedArgs = args;
+				for ( int i = 0; i < args.length; ++i ) {
+					String token = getNestedToken( args[i] );
+					if ( token == null || depth >= MAX_NESTING_DEPTH ) {
+						continue;
+					}
+					
+					if ( translatedArgs == args ) {
+						translatedArgs = args.clone();
+						if ( nested == null ) {
+							nested = new HashMap<>();
+						}
+					}
+					
+					String translation = nested.get( token );
+					if ( translation == null ) {
+						if ( token.startsWith( "trns" ) ) {
+							translation = this.translateMessageImmediate( locale, token );
+						} else {
+							translation = this.translateMessageInjected( player, locale, token, depth + 1, nested );
+						}
+						nested.put( token, translation );
+					}
+					translatedArgs[i] = translation;
+				}
+				
+				return localizer.translateDirect( locale, handle.getKey(), translatedArgs );
 			} else {
 				return TranslationStorage.ENOINJHD;
 			}
@@ -95,4 +196,43 @@ public class InterceptorBase extends PacketAdapter {
 		}
 	}
 	
+	/**
+	 * Gets the injected translation string of the given argument of an injection handle.
+	 *
+	 * @param arg The argument
+	 *
+	 * @return The injected translation string or null if the argument is not an injected translation
+	 */
+	private static String getNestedToken( Object arg ) {
+		if ( arg instanceof InjectionHandle ) {
+			return ( (InjectionHandle) arg ).getEncoded();
+		}
+		if ( arg instanceof String ) {
+			// Require the exact length of injected strings so that ordinary arguments which
+			// merely happen to start with the same characters are not mistaken for them:
+			String str = (String) arg;
+			if ( str.length() == 12 && ( str.startsWith( "trns" ) || str.startsWith( "injc" ) ) ) {
+				return str;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Reads an integer encoded into four characters of an injected translation.
+	 *
+	 * @param message The injected translation
+	 * @param offset The offset of the integer's most significant byte
+	 *
+	 * @return The decoded integer
+	 */
+	private static int readInt( String message, int offset ) {
+		int value = 0;
+		value |= ( ( (int) message.charAt( offset ) ) & 0xFF ) << 24;
+		value |= ( ( (int) message.charAt( offset + 1 ) ) & 0xFF ) << 16;
+		value |= ( ( (int) message.charAt( offset + 2 ) ) & 0xFF ) << 8;
+		value |= ( ( (int) message.charAt( offset + 3 ) ) & 0xFF );
+		return value;
+	}
+	
 }
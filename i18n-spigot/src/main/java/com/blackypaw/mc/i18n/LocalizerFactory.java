@@ -43,9 +43,9 @@ class LocalizerFactory {
 	 *
 	 * @param storage The translation storage to use for translating messages
 	 */
-	InjectionAwareLocalizer createInstance( TranslationStorage storage ) {
-		int                     id        = this.nextId++;
-		InjectionAwareLocalizer localizer = new LocalizerSpigotImpl( id, storage );
+	SpigotLocalizer createInstance( TranslationStorage storage ) {
+		int             id        = this.nextId++;
+		SpigotLocalizer localizer = new LocalizerSpigotImpl( id, storage );
 		this.localizers.put( id, localizer );
 		return localizer;
 	}
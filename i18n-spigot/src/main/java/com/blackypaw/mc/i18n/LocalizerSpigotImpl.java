@@ -15,7 +15,7 @@ import java.util.Map;
  * @author BlackyPaw
  * @version 1.0
  */
-class LocalizerSpigotImpl extends InjectionAwareLocalizer {
+class LocalizerSpigotImpl extends SpigotLocalizer {
 	
 	private final int                id;
 	private final TranslationStorage storage;
@@ -93,6 +93,11 @@ class LocalizerSpigotImpl extends InjectionAwareLocalizer {
 		return this.injectionHandles.get( id );
 	}
 	
+	@Override
+	TranslationStorage getStorage() {
+		return this.storage;
+	}
+	
 	@Override
 	public void close() throws Exception {
 		this.injectionHandles.clear();
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+/**
+ * A named player-specific placeholder obtained from a {@link PlaceholderRegistry}. Placeholders
+ * may be passed as arguments to {@link InjectionAwareLocalizer#inject(String, Object...)} and
+ * will be replaced by the value their provider yields for the player receiving the message.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public final class Placeholder {
+	
+	private final String name;
+	private final int    id;
+	
+	private volatile PlaceholderProvider provider;
+	
+	Placeholder( String name, int id ) {
+		this.name = name;
+		this.id = id;
+	}
+	
+	/**
+	 * Gets the name of this placeholder.
+	 *
+	 * @return The name of this placeholder
+	 */
+	public String getName() {
+		return this.name;
+	}
+	
+	int getId() {
+		return this.id;
+	}
+	
+	PlaceholderProvider getProvider() {
+		return this.provider;
+	}
+	
+	void setProvider( PlaceholderProvider provider ) {
+		this.provider = provider;
+	}
+	
+	@Override
+	public String toString() {
+		// Shown whenever a placeholder is not resolved against a player:
+		return "{" + this.name + "}";
+	}
+	
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Interface used for providing the value of a player-specific placeholder. See
+ * {@link PlaceholderRegistry} for further details on this topic.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public interface PlaceholderProvider {
+
+	/**
+	 * Provides the value of the placeholder for the given player. The value gets inserted into
+	 * translations just like any other argument. This method may be invoked from outside the
+	 * server's main thread and must therefore be thread-safe.
+	 *
+	 * @param player The player receiving the translated message
+	 *
+	 * @return The value of the placeholder for the given player
+	 */
+	Object provide( Player player );
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry of named player-specific placeholders. Placeholders are passed as arguments of
+ * injected translations and get resolved once the translation is sent to a player, so a
+ * single injection handle such as for "Welcome {0}" may serve every recipient:
+ * <pre>
+ * Placeholder name = registry.register( "player", new PlaceholderProvider() { ... } );
+ * InjectionHandle welcome = localizer.inject( "welcome", name );
+ * </pre>
+ * Values are memoized per player for the duration of a server tick, so a placeholder used by
+ * several packets sent to the same player within one tick gets resolved only once. Values of
+ * players who left are dropped on quit and, in case a packet was still being sent to them
+ * concurrently, once per second by the tick task at the latest.
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public class PlaceholderRegistry {
+	
+	private static final Object NULL = new Object();
+	
+	/**
+	 * The number of ticks between sweeps for values memoized for players who are no longer online.
+	 */
+	private static final int SWEEP_INTERVAL = 20;
+	
+	private final Logger                                  logger;
+	private final ConcurrentMap<String, Placeholder>      placeholders;
+	private final ConcurrentMap<UUID, PlayerPlaceholders> values;
+	private final AtomicInteger                           nextId;
+	
+	private volatile int tick;
+	
+	PlaceholderRegistry( Logger logger ) {
+		this.logger = logger;
+		this.placeholders = new ConcurrentHashMap<>();
+		this.values = new ConcurrentHashMap<>();
+		this.nextId = new AtomicInteger( 0 );
+	}
+	
+	/**
+	 * Gets the placeholder of the given name. Placeholders may be obtained before a provider
+	 * has been registered for them; until then they are sent as-is.
+	 *
+	 * @param name The name of the placeholder
+	 *
+	 * @return The placeholder of the given name
+	 */
+	public Placeholder placeholder( String name ) {
+		Placeholder placeholder = this.placeholders.get( name );
+		if ( placeholder == null ) {
+			placeholder = new Placeholder( name, this.nextId.getAndIncrement() );
+			Placeholder previous = this.placeholders.putIfAbsent( name, placeholder );
+			if ( previous != null ) {
+				placeholder = previous;
+			}
+		}
+		return placeholder;
+	}
+	
+	/**
+	 * Registers the provider of the placeholder of the given name, replacing any provider
+	 * registered before.
+	 *
+	 * @param name The name of the placeholder
+	 * @param provider The provider of the placeholder's values
+	 *
+	 * @return The placeholder of the given name
+	 */
+	public Placeholder register( String name, PlaceholderProvider provider ) {
+		Placeholder placeholder = this.placeholder( name );
+		placeholder.setProvider( provider );
+		return placeholder;
+	}
+	
+	/**
+	 * Unregisters the provider of the placeholder of the given name.
+	 *
+	 * @param name The name of the placeholder
+	 */
+	public void unregister( String name ) {
+		Placeholder placeholder = this.placeholders.get( name );
+		if ( placeholder != null ) {
+			placeholder.setProvider( null );
+		}
+	}
+	
+	/**
+	 * Replaces all placeholders among the given arguments by their values for the given player.
+	 *
+	 * @param player The player receiving the message
+	 * @param args The arguments of the message
+	 *
+	 * @return The resolved arguments or the given arguments themselves if they contain no placeholders
+	 */
+	Object[] resolveArguments( Player player, Object[] args ) {
+		Object[] resolved = args;
+		for ( int i = 0; i < args.length; ++i ) {
+			if ( args[i] instanceof Placeholder ) {
+				if ( resolved == args ) {
+					resolved = args.clone();
+				}
+				resolved[i] = this.resolve( player, (Placeholder) args[i] );
+			}
+		}
+		return resolved;
+	}
+	
+	/**
+	 * Advances the tick all memoized values belong to and periodically forgets the values
+	 * memoized for players who are no longer online. Invoked once per server tick on the main
+	 * thread.
+	 */
+	void tick() {
+		int tick = ++this.tick;
+		if ( tick % SWEEP_INTERVAL == 0 ) {
+			// A packet sent concurrently to a player quitting may memoize values after they have
+			// been forgotten, thus sweep for them here:
+			for ( UUID uuid : this.values.keySet() ) {
+				if ( Bukkit.getPlayer( uuid ) == null ) {
+					this.values.remove( uuid );
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Forgets all values memoized for the given player.
+	 *
+	 * @param uuid The UUID of the player
+	 */
+	void forget( UUID uuid ) {
+		this.values.remove( uuid );
+	}
+	
+	private Object resolve( Player player, Placeholder placeholder ) {
+		PlaceholderProvider provider = placeholder.getProvider();
+		if ( provider == null ) {
+			return placeholder;
+		}
+		
+		PlayerPlaceholders memo = this.values.get( player.getUniqueId() );
+		if ( memo == null ) {
+			memo = new PlayerPlaceholders();
+			PlayerPlaceholders previous = this.values.putIfAbsent( player.getUniqueId(), memo );
+			if ( previous != null ) {
+				memo = previous;
+			}
+		}
+		
+		synchronized ( memo ) {
+			int tick = this.tick;
+			if ( memo.tick != tick ) {
+				Arrays.fill( memo.values, null );
+				memo.tick = tick;
+			}
+			
+			int id = placeholder.getId();
+			if ( id >= memo.values.length ) {
+				memo.values = Arrays.copyOf( memo.values, Math.max( id + 1, memo.values.length * 2 ) );
+			}
+			
+			Object value = memo.values[id];
+			if ( value == null ) {
+				try {
+					value = provider.provide( player );
+				} catch ( RuntimeException e ) {
+					this.logger.log( Level.WARNING, "Placeholder provider of '" + placeholder.getName() + "' failed", e );
+					return placeholder;
+				}
+				memo.values[id] = ( value != null ? value : NULL );
+			}
+			return ( value != NULL ? value : null );
+		}
+	}
+	
+	/**
+	 * Values of placeholders memoized for a single player.
+	 */
+	private static final class PlayerPlaceholders {
+		
+		private int      tick   = -1;
+		private Object[] values = new Object[8];
+		
+	}
+	
+}
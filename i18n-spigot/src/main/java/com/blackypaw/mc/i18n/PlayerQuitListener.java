@@ -15,7 +15,7 @@ import org.bukkit.event.player.PlayerKickEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 /**
- * Internal helper. Used to uncache player locales after players have left the server.
+ * Internal helper. Used to uncache player locales and placeholder values after players have left the server.
  *
  * @author BlackyPaw
  * @version 1.0
@@ -57,6 +57,7 @@ class PlayerQuitListener implements Listener {
 
 	private void onPlayerLeft( Player player ) {
 		this.i18n.unstoreLocale( player.getUniqueId() );
+		this.i18n.getPlaceholderRegistry().forget( player.getUniqueId() );
 	}
 
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2016, BlackyPaw
+ * All rights reserved.
+ *
+ * This code is licensed under a BSD 3-Clause license. For further license details view the LICENSE file in the root folder of this source tree.
+ */
+
+package com.blackypaw.mc.i18n;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+
+import java.util.Locale;
+
+/**
+ * Localizer of the Spigot platform. In addition to translating messages into strings it
+ * may translate messages into chat components, e.g. for sending clickable messages via
+ * Player.spigot().sendMessage( ... ).
+ *
+ * @author BlackyPaw
+ * @version 1.0
+ */
+public abstract class SpigotLocalizer extends InjectionAwareLocalizer {
+	
+	/**
+	 * Translates a message into chat components. Legacy formatting codes as well as inline markup
+	 * for clickable and hoverable text such as [here](run:/spawn|hover:Teleports you to spawn)
+	 * are parsed once per locale and translation key. Supported actions are run, suggest and url
+	 * which set the click event of the text as well as hover which sets its hover text.
+	 * <p>
+	 * The components of translations without any arguments are built only once and copied for
+	 * every invocation, so the returned components may be modified freely.
+	 *
+	 * @param locale The language to translate into
+	 * @param key The translation key of the message to be translated
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated components
+	 */
+	public BaseComponent[] translateComponents( Locale locale, String key, Object... args ) {
+		return this.translateComponents( locale, FNVHash.hash1a32( key ), args );
+	}
+	
+	/**
+	 * See {@link #translateComponents(Locale, String, Object...)}
+	 *
+	 * @param locale The language to translate into
+	 * @param keyHash The hash of the translation key of the message to be translated
+	 * @param args Optional arguments to be inserted into the translation
+	 *
+	 * @return The translated components
+	 */
+	public BaseComponent[] translateComponents( Locale locale, int keyHash, Object... args ) {
+		TranslationStorage storage  = this.getStorage();
+		MessageTemplate    template = storage.getTemplate( locale, keyHash );
+		if ( !template.hasArguments() ) {
+			BaseComponent[] cached     = template.encode( ComponentTemplate.ENCODER );
+			BaseComponent[] components = new BaseComponent[cached.length];
+			for ( int i = 0; i < cached.length; ++i ) {
+				components[i] = cached[i].duplicate();
+			}
+			return components;
+		}
+		
+		// Compile the translation's markup once and cache it alongside the template:
+		ComponentTemplate components = (ComponentTemplate) template.getDerived( ComponentTemplate.class );
+		if ( components == null ) {
+			components = ComponentTemplate.compile( locale, template.getSource(), storage.getArgumentNames( keyHash ) );
+			template.putDerived( ComponentTemplate.class, components );
+		}
+		return components.render( args );
+	}
+	
+}
@@ -63,7 +63,7 @@ public class InterceptorSign extends InterceptorBase {
 			for ( int i = 1; i <= 4; ++i ) {
 				final String key = "Text" + i;
 				String message    = this.gson.fromJson( compound.getString( key ), ChatComponent.class ).getUnformattedText();
-				String translated = this.translateMessageIfAppropriate( locale, message );
+				String translated = this.translateMessageIfAppropriate( player, locale, message );
 				
 				if ( message != translated ) {
 					if ( !changed ) {
@@ -94,7 +94,7 @@ public class InterceptorSign extends InterceptorBase {
 				for ( int i = 1; i <= 4; ++i ) {
 					final String key = "Text" + i;
 					String message    = this.gson.fromJson( compound.getString( key ), ChatComponent.class ).getUnformattedText();
-					String translated = this.translateMessageIfAppropriate( locale, message );
+					String translated = this.translateMessageIfAppropriate( player, locale, message );
 					
 					if ( message != translated ) {
 						compound.put( key, WrappedChatComponent.fromText( translated ).getJson() );
@@ -62,7 +62,7 @@ public class InterceptorSlot extends InterceptorBase {
 			}
 			
 			//self.getLogger().info( "#SetSlot: Message of Item = " + message );
-			String translated = this.translateMessageIfAppropriate( language, message );
+			String translated = this.translateMessageIfAppropriate( player, language, message );
 			
 			if ( message != translated ) {
 				// Only write back when really needed:
@@ -102,7 +102,7 @@ public class InterceptorSlot extends InterceptorBase {
 				}
 				
 				//self.getLogger().info( "#WindowItems: Message of Item = " + message );
-				String translated = this.translateMessageIfAppropriate( language, message );
+				String translated = this.translateMessageIfAppropriate( player, language, message );
 				
 				if ( message != translated ) {
 					// Got to localize the item's display name:
@@ -27,6 +27,13 @@ import java.util.Locale;
  */
 public class InterceptorScoreboard extends InterceptorBase {
 	
+	// Maximum lengths of the respective fields as accepted by the client:
+	private static final int MAX_OBJECTIVE_LENGTH    = 32;
+	private static final int MAX_SCORE_LENGTH        = 40;
+	private static final int MAX_TEAM_DISPLAY_LENGTH = 32;
+	private static final int MAX_TEAM_AFFIX_LENGTH   = 16;
+	private static final int MAX_TEAM_ENTRY_LENGTH   = 40;
+	
 	public InterceptorScoreboard( Plugin plugin, Gson gson, I18NSpigotImpl i18n ) {
 		super( plugin, gson, i18n, ListenerPriority.LOWEST, PacketType.Play.Server.SCOREBOARD_OBJECTIVE, PacketType.Play.Server.SCOREBOARD_SCORE, PacketType.Play.Server.SCOREBOARD_TEAM );
 	}
@@ -49,7 +56,7 @@ public class InterceptorScoreboard extends InterceptorBase {
 		int mode = packet.getIntegers().read( 0 );
 		if ( mode == 0 || mode == 2 ) {
 			String message     = packet.getStrings().read( 1 );
-			String translation = this.translateMessageIfAppropriate( this.i18n.getLocale( player.getUniqueId() ), message );
+			String translation = this.translateMessageIfAppropriate( player, this.i18n.getLocale( player.getUniqueId() ), message, MAX_OBJECTIVE_LENGTH );
 			
 			if ( message != translation ) {
 				packet.getStrings().write( 1, translation );
@@ -62,7 +69,7 @@ public class InterceptorScoreboard extends InterceptorBase {
 		final PacketContainer packet = event.getPacket();
 		
 		String message     = packet.getStrings().read( 0 );
-		String translation = this.translateMessageIfAppropriate( this.i18n.getLocale( player.getUniqueId() ), message );
+		String translation = this.translateMessageIfAppropriate( player, this.i18n.getLocale( player.getUniqueId() ), message, MAX_SCORE_LENGTH );
 		
 		if ( message != translation ) {
 			packet.getStrings().write( 0, translation );
@@ -80,9 +87,9 @@ public class InterceptorScoreboard extends InterceptorBase {
 			String prefix      = packet.getStrings().read( 2 );
 			String suffix      = packet.getStrings().read( 3 );
 			
-			String translatedDisplayName = this.translateMessageIfAppropriate( locale, displayName );
-			String translatedPrefix      = this.translateMessageIfAppropriate( locale, prefix );
-			String translatedSuffix      = this.translateMessageIfAppropriate( locale, suffix );
+			String translatedDisplayName = this.translateMessageIfAppropriate( player, locale, displayName, MAX_TEAM_DISPLAY_LENGTH );
+			String translatedPrefix      = this.translateMessageIfAppropriate( player, locale, prefix, MAX_TEAM_AFFIX_LENGTH );
+			String translatedSuffix      = this.translateMessageIfAppropriate( player, locale, suffix, MAX_TEAM_AFFIX_LENGTH );
 			
 			if ( displayName != translatedDisplayName ) {
 				packet.getStrings().write( 1, translatedDisplayName );
@@ -102,7 +109,7 @@ public class InterceptorScoreboard extends InterceptorBase {
 			if ( entries.size() > 0 ) {
 				for ( int i = 0; i < entries.size(); ++i ) {
 					String entry           = entries.get( i );
-					String translatedEntry = this.translateMessageIfAppropriate( locale, entry );
+					String translatedEntry = this.translateMessageIfAppropriate( player, locale, entry, MAX_TEAM_ENTRY_LENGTH );
 					
 					if ( entry != translatedEntry ) {
 						entries.set( i, translatedEntry );
@@ -48,7 +48,7 @@ public class InterceptorSign extends InterceptorBase {
 			WrappedChatComponent chat = chatComponents[i];
 			if ( chat != null ) {
 				String message    = this.restoreTextFromChatComponent( chat );
-				String translated = this.translateMessageIfAppropriate( this.i18n.getLocale( player.getUniqueId() ), message );
+				String translated = this.translateMessageIfAppropriate( player, this.i18n.getLocale( player.getUniqueId() ), message );
 				
 				if ( message != translated ) {
 					chatComponents[i] = WrappedChatComponent.fromText( translated );